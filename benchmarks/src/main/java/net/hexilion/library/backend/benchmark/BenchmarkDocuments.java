@@ -0,0 +1,119 @@
+package net.hexilion.library.backend.benchmark;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generates realistic user and server instance documents of different sizes.
+ * Documents are generated from a fixed seed, so every run measures the same content.
+ */
+public final class BenchmarkDocuments {
+
+    /**
+     * The kind of document, matching the collections the service serves.
+     */
+    public enum Kind {
+        USER,
+        INSTANCE
+    }
+
+    /**
+     * The size of a document, scaling the amount of entries in its lists and maps.
+     */
+    public enum Size {
+        SMALL(2),
+        MEDIUM(25),
+        LARGE(400);
+
+        private final int entries;
+
+        Size(int entries) {
+            this.entries = entries;
+        }
+    }
+
+    private BenchmarkDocuments() {
+    }
+
+    /**
+     * Generate the JSON of a document, without its '_id' value.
+     *
+     * @param kind The kind of document.
+     * @param size The size of the document.
+     * @return The document as JSON.
+     */
+    public static @NonNull String json(@NonNull Kind kind, @NonNull Size size) {
+        Random random = new Random(kind.ordinal() * 31L + size.ordinal());
+        return kind == Kind.USER ? user(random, size.entries) : instance(random, size.entries);
+    }
+
+    private static @NonNull String user(@NonNull Random random, int entries) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"name\":\"Player").append(random.nextInt(100000)).append('"');
+        builder.append(",\"rank\":\"").append(random.nextBoolean() ? "MEMBER" : "VIP").append('"');
+        builder.append(",\"firstJoin\":").append(1600000000000L + random.nextInt(Integer.MAX_VALUE));
+        builder.append(",\"playtime\":").append(random.nextInt(1000000));
+        builder.append(",\"coins\":").append(random.nextInt(100000));
+        builder.append(",\"experience\":").append(random.nextDouble() * 10000);
+        builder.append(",\"online\":").append(random.nextBoolean());
+
+        // Statistics per game
+        builder.append(",\"statistics\":{");
+        for (int index = 0; index < entries; index++) {
+            if (index > 0) {
+                builder.append(',');
+            }
+
+            builder.append("\"game").append(index).append("\":{\"wins\":").append(random.nextInt(1000))
+                    .append(",\"losses\":").append(random.nextInt(1000))
+                    .append(",\"kills\":").append(random.nextInt(10000))
+                    .append(",\"ratio\":").append(random.nextDouble()).append('}');
+        }
+        builder.append('}');
+
+        // Friends
+        builder.append(",\"friends\":[");
+        for (int index = 0; index < entries; index++) {
+            if (index > 0) {
+                builder.append(',');
+            }
+
+            builder.append('"').append(new UUID(random.nextLong(), random.nextLong())).append('"');
+        }
+        builder.append(']');
+
+        // Settings
+        builder.append(",\"settings\":{\"language\":\"en_US\",\"chat\":true,\"particles\":").append(random.nextInt(3))
+                .append(",\"visibility\":\"FRIENDS\"}}");
+        return builder.toString();
+    }
+
+    private static @NonNull String instance(@NonNull Random random, int entries) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"host\":\"10.0.").append(random.nextInt(256)).append('.').append(random.nextInt(256)).append('"');
+        builder.append(",\"port\":").append(25565 + random.nextInt(10000));
+        builder.append(",\"game\":\"skywars\",\"map\":\"map").append(random.nextInt(20)).append('"');
+        builder.append(",\"state\":\"").append(random.nextBoolean() ? "WAITING" : "RUNNING").append('"');
+        builder.append(",\"maxPlayers\":").append(entries * 2);
+        builder.append(",\"tps\":").append(15 + random.nextDouble() * 5);
+        builder.append(",\"lastHeartbeat\":").append(1700000000000L + random.nextInt(Integer.MAX_VALUE));
+
+        // Players on the instance
+        builder.append(",\"players\":[");
+        for (int index = 0; index < entries; index++) {
+            if (index > 0) {
+                builder.append(',');
+            }
+
+            builder.append("{\"uuid\":\"").append(new UUID(random.nextLong(), random.nextLong()))
+                    .append("\",\"team\":").append(random.nextInt(8))
+                    .append(",\"alive\":").append(random.nextBoolean()).append('}');
+        }
+        builder.append(']');
+
+        builder.append(",\"metadata\":{\"version\":\"1.20.1\",\"region\":\"eu-west\",\"restarts\":").append(random.nextInt(10)).append("}}");
+        return builder.toString();
+    }
+}
\ No newline at end of file
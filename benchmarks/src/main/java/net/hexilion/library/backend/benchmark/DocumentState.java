@@ -0,0 +1,49 @@
+package net.hexilion.library.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.hexilion.library.backend.request.DocumentDeserializer;
+import net.hexilion.library.backend.response.RawBsonDocumentSerializer;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Benchmark state holding a document in the forms it takes on the request path.
+ */
+@State(Scope.Benchmark)
+public class DocumentState {
+
+    @Param({"USER", "INSTANCE"})
+    public BenchmarkDocuments.Kind kind;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public BenchmarkDocuments.Size size;
+
+    public final ObjectMapper objectMapper = new ObjectMapper();
+    public final ObjectMapper documentMapper = new ObjectMapper(JsonFactory.builder()
+            .streamReadConstraints(DocumentDeserializer.constraints(1024 * 1024, 32))
+            .build())
+            .registerModule(DocumentDeserializer.module(1024 * 1024, 32))
+            .registerModule(RawBsonDocumentSerializer.module());
+
+    public String json;
+    public byte[] jsonBytes;
+    public Document document;
+    public RawBsonDocument rawDocument;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.json = BenchmarkDocuments.json(this.kind, this.size);
+        this.jsonBytes = this.json.getBytes(StandardCharsets.UTF_8);
+        this.document = Document.parse(this.json).append("_id", "benchmark");
+        this.rawDocument = new RawBsonDocument(this.document, new DocumentCodec());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package net.hexilion.library.backend.benchmark;
+
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.response.GetRequestJsonResponse;
+import net.hexilion.library.backend.response.base.FetchedFrom;
+import org.bson.Document;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serialization of responses on the read path, from the document returned by the driver to the response body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final HttpServletResponse RESPONSE = ServletResponses.stub();
+    private static final FetchedFrom FETCHED_FROM = new FetchedFrom("benchmark", "documents");
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+
+    /**
+     * The get path, see AbstractBaseMongoController#get.
+     */
+    @Benchmark
+    public byte[] get(DocumentState state) throws Exception {
+        return state.documentMapper.writeValueAsBytes(new GetRequestJsonResponse<>(state.rawDocument, FETCHED_FROM, RESPONSE));
+    }
+
+    /**
+     * The previous get path, decoding the BSON into a document before serializing it.
+     */
+    @Benchmark
+    public byte[] getDecoded(DocumentState state) throws Exception {
+        Document document = state.rawDocument.decode(DOCUMENT_CODEC);
+        return state.objectMapper.writeValueAsBytes(new GetRequestJsonResponse<>(document, FETCHED_FROM, RESPONSE));
+    }
+}
\ No newline at end of file
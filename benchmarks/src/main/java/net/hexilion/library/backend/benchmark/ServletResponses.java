@@ -0,0 +1,36 @@
+package net.hexilion.library.backend.benchmark;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Stubs of servlet objects, so responses can be built without a servlet container.
+ */
+public final class ServletResponses {
+
+    private ServletResponses() {
+    }
+
+    /**
+     * Create a response that ignores every call, the responses of the service only set their status on it.
+     *
+     * @return The response stub.
+     */
+    public static @NonNull HttpServletResponse stub() {
+        return (HttpServletResponse) Proxy.newProxyInstance(
+                ServletResponses.class.getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class},
+                (proxy, method, arguments) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == boolean.class) {
+                        return false;
+                    } else if (returnType == int.class) {
+                        return 0;
+                    }
+
+                    return null;
+                });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package net.hexilion.library.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import net.hexilion.library.backend.database.mongo.DocumentUpdates;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of request bodies on the write path, from the raw request body to what is sent to the driver.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WritePathBenchmark {
+
+    /**
+     * The create path, see AbstractBaseMongoController#create.
+     */
+    @Benchmark
+    public Document create(DocumentState state) throws IOException {
+        Document document = new Document("_id", "benchmark");
+        document.putAll(state.documentMapper.readValue(state.jsonBytes, Document.class));
+        return document;
+    }
+
+    /**
+     * The update path, see AbstractBaseMongoController#update and MongoRepository#updateDocument.
+     */
+    @Benchmark
+    public Bson update(DocumentState state) throws IOException {
+        Document updateData = state.documentMapper.readValue(state.jsonBytes, Document.class);
+        DocumentUpdates.validatePaths(updateData.keySet());
+        return DocumentUpdates.toSetUpdate(updateData);
+    }
+
+    /**
+     * The previous create path, reading the body into a tree and parsing its string form again.
+     */
+    @Benchmark
+    public Document createViaTree(DocumentState state) throws IOException {
+        JsonNode body = state.objectMapper.readTree(state.jsonBytes);
+        Document document = new Document("_id", "benchmark");
+        document.putAll(Document.parse(body.toString()));
+        return document;
+    }
+
+    /**
+     * The previous update path, reading the body into a tree and converting it to a map.
+     */
+    @Benchmark
+    public Bson updateViaTree(DocumentState state) throws IOException {
+        JsonNode body = state.objectMapper.readTree(state.jsonBytes);
+        Map<String, Object> updateData = state.objectMapper.convertValue(body, Map.class);
+        DocumentUpdates.validatePaths(updateData.keySet());
+        return DocumentUpdates.toSetUpdate(updateData);
+    }
+}
\ No newline at end of file
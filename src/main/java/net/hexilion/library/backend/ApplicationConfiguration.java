@@ -17,6 +17,33 @@ public class ApplicationConfiguration {
     @Value("${api.key.path}")
     private @Nullable String apiKeyPath;
 
+    @Value("${pagination.limit.default:100}")
+    private int defaultPageLimit;
+
+    @Value("${pagination.limit.max:1000}")
+    private int maxPageLimit;
+
+    @Value("${bulk.max-operations:500}")
+    private int maxBulkOperations;
+
+    @Value("${multiget.max-identifiers:500}")
+    private int maxMultiGetIdentifiers;
+
+    @Value("${request.body.max-bytes:1048576}")
+    private long maxBodyBytes;
+
+    @Value("${request.body.max-depth:32}")
+    private int maxBodyDepth;
+
+    @Value("${request.deadline.read-ms:2000}")
+    private long readDeadlineMillis;
+
+    @Value("${request.deadline.write-ms:5000}")
+    private long writeDeadlineMillis;
+
+    @Value("${request.deadline.scan-ms:30000}")
+    private long scanDeadlineMillis;
+
     /**
      * @return The API key header that must be used in requests to authenticate them.
      */
@@ -33,4 +60,67 @@ public class ApplicationConfiguration {
     public @Nullable String getApiKeyPath() {
         return this.apiKeyPath;
     }
+
+    /**
+     * @return The amount of documents returned per page when a request does not provide a limit.
+     */
+    public int getDefaultPageLimit() {
+        return this.defaultPageLimit;
+    }
+
+    /**
+     * @return The maximum amount of documents that can be returned in a single page.
+     */
+    public int getMaxPageLimit() {
+        return this.maxPageLimit;
+    }
+
+    /**
+     * @return The maximum amount of operations that can be included in a single bulk request.
+     */
+    public int getMaxBulkOperations() {
+        return this.maxBulkOperations;
+    }
+
+    /**
+     * @return The maximum amount of identifiers that can be looked up in a single multi-get request.
+     */
+    public int getMaxMultiGetIdentifiers() {
+        return this.maxMultiGetIdentifiers;
+    }
+
+    /**
+     * @return The maximum size in bytes of a JSON document in a request body.
+     */
+    public long getMaxBodyBytes() {
+        return this.maxBodyBytes;
+    }
+
+    /**
+     * @return The maximum nesting depth of objects and arrays in a JSON document in a request body.
+     */
+    public int getMaxBodyDepth() {
+        return this.maxBodyDepth;
+    }
+
+    /**
+     * @return The deadline in milliseconds of requests reading single or multiple documents, 0 or less for no deadline.
+     */
+    public long getReadDeadlineMillis() {
+        return this.readDeadlineMillis;
+    }
+
+    /**
+     * @return The deadline in milliseconds of requests creating, updating or deleting documents, 0 or less for no deadline.
+     */
+    public long getWriteDeadlineMillis() {
+        return this.writeDeadlineMillis;
+    }
+
+    /**
+     * @return The deadline in milliseconds of requests reading whole collections, 0 or less for no deadline.
+     */
+    public long getScanDeadlineMillis() {
+        return this.scanDeadlineMillis;
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package net.hexilion.library.backend;
 import jakarta.annotation.PostConstruct;
 import net.hexilion.library.backend.database.mongo.MongoDataManager;
 import net.hexilion.library.backend.database.mongo.MongoInstance;
+import net.hexilion.library.backend.database.mongo.cache.MongoSnapshotCache;
 import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +31,9 @@ public class BackendServiceApplication extends SpringBootServletInitializer {
     @Autowired
     private MongoDataManager mongoDataManager;
 
+    @Autowired
+    private MongoSnapshotCache mongoSnapshotCache;
+
     public BackendServiceApplication() { }
 
     /**
@@ -69,6 +73,13 @@ public class BackendServiceApplication extends SpringBootServletInitializer {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             log.info("Shutting down backend service...");
 
+            // Stop watching for changes before the connections are closed
+            this.mongoSnapshotCache.shutdown();
+            this.mongoDataManager.shutdown();
+
+            // Write the unwritten registry changes before the connections are closed
+            this.mongoDataManager.shutdownServerRegistries();
+
             // Close the connections to all Mongo instances
             for (MongoInstanceType type : MongoInstanceType.VALUES) {
                 MongoInstance instance = this.mongoDataManager.getInstanceByType(type);
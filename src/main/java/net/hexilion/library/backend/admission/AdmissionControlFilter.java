@@ -0,0 +1,113 @@
+package net.hexilion.library.backend.admission;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.response.error.ServiceUnavailableResponse;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.GenericFilterBean;
+
+import java.io.IOException;
+
+/**
+ * Filter class for admitting requests through the {@link AdmissionController}.
+ * Shed requests are answered with 503 and a Retry-After header before reaching a controller.
+ */
+public class AdmissionControlFilter extends GenericFilterBean {
+
+    private static final @NonNull String DEFAULT_SHED_RESPONSE = "{\"success\": false, \"cause\": \"The service is overloaded, try again later.\"}";
+
+    private final @NonNull AdmissionController admissionController;
+    private final @NonNull ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(@NonNull AdmissionController admissionController) {
+        this.admissionController = admissionController;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain filterChain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+
+        // Async and error dispatches belong to a request that was already admitted
+        if (!this.admissionController.isEnabled() || httpRequest.getDispatcherType() != DispatcherType.REQUEST) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionController.Permit permit = this.admissionController.tryAdmit(AdmissionPriority.of(httpRequest));
+        if (permit == null) {
+            // Handle shed request
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            String jsonResponse = this.constructShedResponse(httpResponse);
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.getWriter().write(jsonResponse);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Requests handled asynchronously hold their place until they complete
+            if (httpRequest.isAsyncStarted()) {
+                httpRequest.getAsyncContext().addListener(new ReleasingAsyncListener(permit));
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    private @NonNull String constructShedResponse(@NonNull HttpServletResponse response) {
+        String cause = "The service is overloaded, try again later.";
+        ServiceUnavailableResponse<String> shedResponse = new ServiceUnavailableResponse<>(cause, this.admissionController.getRetryAfterSeconds(), response);
+
+        try {
+            return this.objectMapper.writeValueAsString(shedResponse);
+        } catch (JsonProcessingException exception) {
+            return DEFAULT_SHED_RESPONSE;
+        }
+    }
+
+    /**
+     * Releases the permit of an asynchronously handled request once it completes, fails or times out.
+     */
+    private static class ReleasingAsyncListener implements AsyncListener {
+
+        private final @NonNull AdmissionController.Permit permit;
+
+        private ReleasingAsyncListener(@NonNull AdmissionController.Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            this.permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            this.permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            this.permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Async processing restarted, keep listening on the new cycle
+            event.getAsyncContext().addListener(this);
+        }
+
+    }
+}
\ No newline at end of file
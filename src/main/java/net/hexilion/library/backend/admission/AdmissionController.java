@@ -0,0 +1,220 @@
+package net.hexilion.library.backend.admission;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Admission control for the requests to the service, shedding load based on the queueing delay.
+ * <p>
+ * A bounded amount of requests is handled at the same time, later requests wait in a queue. Like CoDel,
+ * the smallest time a request waited in the queue is tracked per interval. A queue that drains at least
+ * once per interval is only absorbing a burst, but once even the smallest delay of a whole interval
+ * exceeds the target delay the queue is standing and the service is overloaded. While overloaded,
+ * low priority requests are shed right away and normal priority requests only wait up to the target
+ * delay, so the capacity goes to high priority requests and clients get a quick 503 to back off on
+ * instead of a timeout to retry on.
+ */
+@Component
+public class AdmissionController {
+
+    private final @NonNull AdmissionSettings settings;
+    private final @NonNull Logger log;
+    private final long targetDelayNanos;
+    private final long intervalNanos;
+    private final long maxWaitNanos;
+
+    private final @NonNull Semaphore permits;
+    private final @NonNull ReentrantLock intervalLock;
+    private final @NonNull AtomicLong minDelayNanos;
+    private volatile long intervalStart;
+    private volatile boolean overloaded;
+
+    private final @NonNull Map<AdmissionPriority, LongAdder> admitted;
+    private final @NonNull Map<AdmissionPriority, LongAdder> shed;
+
+    @Autowired
+    public AdmissionController(@NonNull Environment environment, @NonNull Logger log) {
+        this.settings = AdmissionSettings.fromEnvironment(environment);
+        this.log = log;
+        this.targetDelayNanos = TimeUnit.MILLISECONDS.toNanos(this.settings.targetDelayMillis());
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(this.settings.intervalMillis());
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(this.settings.maxWaitMillis());
+
+        this.permits = new Semaphore(Math.max(1, this.settings.maxConcurrent()), true);
+        this.intervalLock = new ReentrantLock();
+        this.minDelayNanos = new AtomicLong(Long.MAX_VALUE);
+        this.intervalStart = System.nanoTime();
+
+        this.admitted = new EnumMap<>(AdmissionPriority.class);
+        this.shed = new EnumMap<>(AdmissionPriority.class);
+        for (AdmissionPriority priority : AdmissionPriority.values()) {
+            this.admitted.put(priority, new LongAdder());
+            this.shed.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Admit a request, waiting in the queue if the service is busy.
+     *
+     * @param priority The priority of the request.
+     * @return The permit of the admitted request, which must be released once the request is handled. Null if the request is shed.
+     */
+    public @Nullable Permit tryAdmit(@NonNull AdmissionPriority priority) {
+        long start = System.nanoTime();
+
+        // Fast path, there is room to handle the request right away and nobody is waiting, the timed acquire keeps the order fair
+        try {
+            if (this.permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                this.recordDelay(0, start);
+                this.admitted.get(priority).increment();
+                return new Permit();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            this.shed.get(priority).increment();
+            return null;
+        }
+
+        long waitNanos = switch (priority) {
+            case HIGH -> this.maxWaitNanos;
+            case NORMAL -> this.overloaded ? this.targetDelayNanos : this.maxWaitNanos;
+            case LOW -> this.overloaded ? 0 : this.maxWaitNanos;
+        };
+
+        // Shed right away without queueing, the request says nothing about the queueing delay
+        if (waitNanos <= 0) {
+            this.shed.get(priority).increment();
+            return null;
+        }
+
+        boolean acquired = false;
+        try {
+            acquired = this.permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Requests shed after queueing count too, they waited that long
+        long now = System.nanoTime();
+        this.recordDelay(now - start, now);
+
+        if (!acquired) {
+            this.shed.get(priority).increment();
+            return null;
+        }
+
+        this.admitted.get(priority).increment();
+        return new Permit();
+    }
+
+    /**
+     * @return Whether requests go through admission control.
+     */
+    public boolean isEnabled() {
+        return this.settings.enabled();
+    }
+
+    /**
+     * @return The time clients are told to wait before retrying a shed request, in seconds.
+     */
+    public long getRetryAfterSeconds() {
+        return this.settings.retryAfterSeconds();
+    }
+
+    /**
+     * @return A snapshot of the state of the admission control.
+     */
+    public @NonNull Snapshot snapshot() {
+        Map<AdmissionPriority, Long> admitted = new EnumMap<>(AdmissionPriority.class);
+        Map<AdmissionPriority, Long> shed = new EnumMap<>(AdmissionPriority.class);
+        for (AdmissionPriority priority : AdmissionPriority.values()) {
+            admitted.put(priority, this.admitted.get(priority).sum());
+            shed.put(priority, this.shed.get(priority).sum());
+        }
+
+        return new Snapshot(
+                this.overloaded,
+                Math.max(1, this.settings.maxConcurrent()) - this.permits.availablePermits(),
+                this.permits.getQueueLength(),
+                admitted,
+                shed
+        );
+    }
+
+    private void recordDelay(long delayNanos, long now) {
+        if (this.minDelayNanos.get() > delayNanos) {
+            this.minDelayNanos.accumulateAndGet(delayNanos, Math::min);
+        }
+
+        // Only one thread closes the interval, the others carry on
+        if (now - this.intervalStart < this.intervalNanos || !this.intervalLock.tryLock()) {
+            return;
+        }
+
+        try {
+            if (now - this.intervalStart < this.intervalNanos) {
+                return;
+            }
+
+            // Keep the state if no request got through the queue during the interval at all
+            long minDelayNanos = this.minDelayNanos.getAndSet(Long.MAX_VALUE);
+            if (minDelayNanos != Long.MAX_VALUE) {
+                boolean overloaded = minDelayNanos > this.targetDelayNanos;
+                if (overloaded != this.overloaded) {
+                    this.log.warning(overloaded
+                            ? "Requests waited at least " + TimeUnit.NANOSECONDS.toMillis(minDelayNanos) + "ms in the queue, shedding low priority requests."
+                            : "The request queue drained, no longer shedding requests.");
+                }
+
+                this.overloaded = overloaded;
+            }
+
+            this.intervalStart = now;
+        } finally {
+            this.intervalLock.unlock();
+        }
+    }
+
+    /**
+     * Represents the place of an admitted request. Releasing it more than once has no effect.
+     */
+    public class Permit {
+
+        private final @NonNull AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * Release the place of the request, once it is handled.
+         */
+        public void release() {
+            if (this.released.compareAndSet(false, true)) {
+                AdmissionController.this.permits.release();
+            }
+        }
+
+    }
+
+    /**
+     * Represents the state of the admission control at a point in time.
+     *
+     * @param overloaded Whether the service is overloaded and shedding requests.
+     * @param active The amount of requests currently being handled.
+     * @param waiting The amount of requests currently waiting in the queue, as an estimate.
+     * @param admitted The total amount of admitted requests per priority.
+     * @param shed The total amount of shed requests per priority.
+     */
+    public record Snapshot(boolean overloaded, int active, int waiting, @NonNull Map<AdmissionPriority, Long> admitted, @NonNull Map<AdmissionPriority, Long> shed) {
+    }
+}
\ No newline at end of file
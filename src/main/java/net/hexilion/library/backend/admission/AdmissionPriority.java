@@ -0,0 +1,48 @@
+package net.hexilion.library.backend.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Represents the priorities of requests when the service is overloaded.
+ */
+public enum AdmissionPriority {
+
+    /**
+     * Server instance and proxy heartbeats, user reads, health checks and metrics.
+     * Never shed early, only rejected once they waited the maximum wait time.
+     */
+    HIGH,
+
+    /**
+     * All other requests. Shed once they waited longer than the target delay while the service is overloaded.
+     */
+    NORMAL,
+
+    /**
+     * Writes to the game and network datastores, including bulk writes. Shed right away while the service is overloaded.
+     */
+    LOW;
+
+    /**
+     * Classify a request based on its path and method.
+     *
+     * @param request The request to classify.
+     * @return The priority of the request.
+     */
+    public static @NonNull AdmissionPriority of(@NonNull HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        final boolean read = HttpMethod.GET.matches(request.getMethod());
+
+        if (path.startsWith("/server/") || path.startsWith("/health/") || path.startsWith("/metrics/") || (read && path.startsWith("/user/"))) {
+            return HIGH;
+        }
+
+        if (!read && path.startsWith("/datastore/")) {
+            return LOW;
+        }
+
+        return NORMAL;
+    }
+}
\ No newline at end of file
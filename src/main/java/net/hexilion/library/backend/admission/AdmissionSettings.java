@@ -0,0 +1,35 @@
+package net.hexilion.library.backend.admission;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.core.env.Environment;
+
+/**
+ * Represents the limits of the admission control in front of the endpoints.
+ *
+ * @param enabled Whether requests go through admission control at all.
+ * @param maxConcurrent The maximum amount of requests handled at the same time, later requests wait in the queue.
+ * @param targetDelayMillis The queueing delay requests should stay below, the service is overloaded once it is exceeded for a whole interval.
+ * @param intervalMillis The interval over which the smallest queueing delay is compared to the target delay.
+ * @param maxWaitMillis The maximum time a request waits in the queue while the service is not overloaded.
+ * @param retryAfterSeconds The time clients are told to wait before retrying a shed request.
+ */
+public record AdmissionSettings(boolean enabled, int maxConcurrent, long targetDelayMillis, long intervalMillis,
+                                long maxWaitMillis, long retryAfterSeconds) {
+
+    /**
+     * Read the settings from the 'admission.*' properties.
+     *
+     * @param environment The environment to read the properties from.
+     * @return The admission settings.
+     */
+    public static @NonNull AdmissionSettings fromEnvironment(@NonNull Environment environment) {
+        return new AdmissionSettings(
+                environment.getProperty("admission.enabled", Boolean.class, true),
+                environment.getProperty("admission.max-concurrent", Integer.class, 150),
+                environment.getProperty("admission.target-delay-ms", Long.class, 5L),
+                environment.getProperty("admission.interval-ms", Long.class, 100L),
+                environment.getProperty("admission.max-wait-ms", Long.class, 1000L),
+                environment.getProperty("admission.retry-after-seconds", Long.class, 1L)
+        );
+    }
+}
\ No newline at end of file
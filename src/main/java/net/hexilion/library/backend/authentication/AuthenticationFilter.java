@@ -8,7 +8,6 @@ import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import net.hexilion.library.backend.exception.InvalidAPIKeyException;
 import net.hexilion.library.backend.response.error.InvalidAPIKeyResponse;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.springframework.http.MediaType;
@@ -17,6 +16,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.GenericFilterBean;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Filter class for handling API authentication.
@@ -26,41 +26,43 @@ public class AuthenticationFilter extends GenericFilterBean {
     private static final @NonNull String DEFAULT_INVALID_API_KEY_RESPONSE = "{\"success\": false, \"error\": \"Invalid API key\"}";
 
     private final @NonNull AuthenticationService authenticationService;
+    private final byte[] invalidApiKeyResponse;
 
     public AuthenticationFilter(@NonNull AuthenticationService authenticationService) {
         this.authenticationService = authenticationService;
+        this.invalidApiKeyResponse = this.constructInvalidAPIKeyResponse();
     }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain filterChain) throws IOException, ServletException {
-        try {
-            // Authentication
-            Authentication authentication = this.authenticationService.getAuthentication((HttpServletRequest) request);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-        } catch (InvalidAPIKeyException exception) {
+        // Authentication
+        Authentication authentication = this.authenticationService.getAuthentication((HttpServletRequest) request);
+        if (authentication == null) {
             // Handle invalid API key
             HttpServletResponse httpResponse = (HttpServletResponse) response;
             httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.setContentLength(this.invalidApiKeyResponse.length);
 
-            // Return invalid API key response
-            String jsonResponse = this.constructInvalidAPIKeyResponse(httpResponse);
-            httpResponse.getWriter().write(jsonResponse);
+            // Return the invalid API key response, serialized once up front
+            httpResponse.getOutputStream().write(this.invalidApiKeyResponse);
             return;
         }
 
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
         // Filter
         filterChain.doFilter(request, response);
     }
 
-    private @NonNull String constructInvalidAPIKeyResponse(@NonNull HttpServletResponse response) {
-        InvalidAPIKeyResponse<String> keyResponse = new InvalidAPIKeyResponse<String>(response);
+    private byte[] constructInvalidAPIKeyResponse() {
+        InvalidAPIKeyResponse<String> keyResponse = new InvalidAPIKeyResponse<String>();
         ObjectMapper objectMapper = new ObjectMapper();
 
         try {
-            return objectMapper.writeValueAsString(keyResponse);
+            return objectMapper.writeValueAsBytes(keyResponse);
         } catch (JsonProcessingException exception) {
-            return DEFAULT_INVALID_API_KEY_RESPONSE;
+            return DEFAULT_INVALID_API_KEY_RESPONSE.getBytes(StandardCharsets.UTF_8);
         }
     }
 }
\ No newline at end of file
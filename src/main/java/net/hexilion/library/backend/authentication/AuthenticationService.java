@@ -4,43 +4,50 @@ import jakarta.servlet.http.HttpServletRequest;
 import net.hexilion.library.backend.authentication.apikey.KeyAuthentication;
 import net.hexilion.library.backend.authentication.apikey.CorrectKeyProvider;
 import net.hexilion.library.backend.ApplicationConfiguration;
-import net.hexilion.library.backend.exception.InvalidAPIKeyException;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.AuthorityUtils;
 
 /**
  * Service class for handling authentication checking and validation.
  * Compares the provided API key in the HTTP headers against the correct
- * API key stored securely on the machine of the backend service.
+ * API keys stored securely on the machine of the backend service.
  */
 public class AuthenticationService {
 
     private static final @NonNull String DEFAULT_API_KEY_HEADER = "API-Key";
 
-    private final @NonNull ApplicationConfiguration configurationProperties;
+    private final @NonNull String apiKeyHeader;
     private final @NonNull CorrectKeyProvider correctKeyProvider;
 
     public AuthenticationService(@NonNull ApplicationConfiguration configurationProperties, @NonNull CorrectKeyProvider correctKeyProvider) {
-        this.configurationProperties = configurationProperties;
+        String apiKeyHeader = configurationProperties.getApiKeyHeader();
+        this.apiKeyHeader = apiKeyHeader == null ? DEFAULT_API_KEY_HEADER : apiKeyHeader;
         this.correctKeyProvider = correctKeyProvider;
     }
 
-    public @NonNull Authentication getAuthentication(@NonNull HttpServletRequest request) {
-        String apiKeyHeader = this.configurationProperties.getApiKeyHeader();
-        if (apiKeyHeader == null) {
-            apiKeyHeader = DEFAULT_API_KEY_HEADER;
-        }
-
+    /**
+     * Authenticate a request by the API key in its headers.
+     * Invalid keys are reported through the return value instead of an exception, so bursts of them stay cheap.
+     *
+     * @param request The HTTP request to authenticate.
+     * @return The authentication of the request, carrying the name of the matched key. Null if the API key is missing or invalid.
+     */
+    public @Nullable Authentication getAuthentication(@NonNull HttpServletRequest request) {
         // Get the API key from the request headers
-        String apiKey = request.getHeader(apiKeyHeader);
+        String apiKey = request.getHeader(this.apiKeyHeader);
+        if (apiKey == null) {
+            return null;
+        }
 
         // Check if the API key is invalid
-        if (apiKey == null || !apiKey.equals(this.correctKeyProvider.getCorrectApiKey())) {
-            throw new InvalidAPIKeyException("Invalid API key provided");
+        String keyName = this.correctKeyProvider.getCorrectApiKeys().match(apiKey);
+        if (keyName == null) {
+            return null;
         }
 
         // API is valid, return new authentication
-        return new KeyAuthentication(apiKey, AuthorityUtils.NO_AUTHORITIES);
+        return new KeyAuthentication(keyName, AuthorityUtils.NO_AUTHORITIES);
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package net.hexilion.library.backend.authentication;
 
+import jakarta.annotation.PreDestroy;
+import net.hexilion.library.backend.admission.AdmissionControlFilter;
+import net.hexilion.library.backend.admission.AdmissionController;
 import net.hexilion.library.backend.authentication.apikey.CorrectKeyProvider;
 import net.hexilion.library.backend.ApplicationConfiguration;
 import net.hexilion.library.backend.exception.InvalidAPIKeyPathException;
@@ -23,16 +26,28 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final @NonNull AuthenticationService authenticationService;
+    private final @NonNull AdmissionController admissionController;
+    private final @NonNull CorrectKeyProvider correctKeyProvider;
 
     @Autowired
-    public SecurityConfig(@NonNull ApplicationConfiguration configurationProperties) {
+    public SecurityConfig(@NonNull ApplicationConfiguration configurationProperties, @NonNull AdmissionController admissionController) {
+        this.admissionController = admissionController;
+
         String apiKeyPath = configurationProperties.getApiKeyPath();
         if (apiKeyPath == null) {
             throw new InvalidAPIKeyPathException("null", "The API key path is null! The SecurityConfig could initialize properly...");
         }
 
-        CorrectKeyProvider correctKeyProvider = new CorrectKeyProvider(apiKeyPath);
-        this.authenticationService = new AuthenticationService(configurationProperties, correctKeyProvider);
+        // Pick up key rotations without a restart
+        this.correctKeyProvider = new CorrectKeyProvider(apiKeyPath);
+        this.correctKeyProvider.startWatching();
+        this.authenticationService = new AuthenticationService(configurationProperties, this.correctKeyProvider);
+    }
+
+    @PreDestroy
+    private void destroy() {
+        // Stop the watcher thread of the key file
+        this.correctKeyProvider.stopWatching();
     }
 
     @Bean
@@ -52,6 +67,9 @@ public class SecurityConfig {
         // Add our custom authentication filter that uses the API keys
         http.addFilterBefore(new AuthenticationFilter(this.authenticationService), UsernamePasswordAuthenticationFilter.class);
 
+        // Shed load once authenticated, so requests with invalid API keys never take a place in the queue
+        http.addFilterAfter(new AdmissionControlFilter(this.admissionController), AuthenticationFilter.class);
+
         // Build the HTTP
         return http.build();
     }
@@ -0,0 +1,174 @@
+package net.hexilion.library.backend.authentication.apikey;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Immutable set of the named API keys that are accepted, stored as SHA-256 hashes.
+ * <p>
+ * Every line of the key file holds one key as 'name:sha256:hex', the hex encoded SHA-256 hash of the key.
+ * Any other line is a plaintext key, named 'default', so existing single key files keep working. Blank lines
+ * and lines starting with '#' are ignored.
+ * <p>
+ * A provided key is hashed and compared against all hashes in constant time, so the time taken does not
+ * reveal how much of a key matched or which key matched. Hashing borrows a digest and buffer from a small
+ * shared pool instead of keeping one per thread, since requests run on short-lived virtual threads. Checking
+ * an ASCII key does not allocate, unless more keys are checked at the same time than the pool holds.
+ */
+public final class ApiKeySet {
+
+    private static final @NonNull String HASH_ALGORITHM = "SHA-256";
+    private static final int HASH_LENGTH = 32;
+    private static final @NonNull String HASH_PREFIX = ":sha256:";
+    private static final @NonNull String DEFAULT_KEY_NAME = "default";
+
+    private static final @NonNull BlockingQueue<Hasher> HASHERS = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    private final @NonNull String[] names;
+    private final byte[][] hashes;
+
+    private ApiKeySet(@NonNull String[] names, byte[][] hashes) {
+        this.names = names;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Parse the contents of a key file.
+     *
+     * @param content The contents of the key file.
+     * @return The parsed key set.
+     * @throws IllegalArgumentException If the file holds no keys or a hash is not a hex encoded SHA-256 hash.
+     */
+    public static @NonNull ApiKeySet parse(@NonNull String content) {
+        List<String> names = new ArrayList<>();
+        List<byte[]> hashes = new ArrayList<>();
+
+        for (String rawLine : content.split("\\R")) {
+            String line = rawLine.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            // A hashed key is marked by the hash prefix after its name, anything else is a plaintext key
+            int separator = line.indexOf(HASH_PREFIX);
+            if (separator > 0) {
+                String name = line.substring(0, separator).trim();
+                String hash = line.substring(separator + HASH_PREFIX.length()).trim();
+                if (hash.length() != HASH_LENGTH * 2 || !isHex(hash)) {
+                    throw new IllegalArgumentException("The hash of API key '" + name + "' is not a hex encoded SHA-256 hash.");
+                }
+
+                names.add(name);
+                hashes.add(HexFormat.of().parseHex(hash));
+            } else {
+                names.add(DEFAULT_KEY_NAME);
+                hashes.add(newDigest().digest(line.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("The key file does not contain any API keys.");
+        }
+
+        return new ApiKeySet(names.toArray(new String[0]), hashes.toArray(new byte[0][]));
+    }
+
+    /**
+     * Find the key that matches a provided key.
+     *
+     * @param apiKey The key provided in a request.
+     * @return The name of the matching key, or null if no key matches.
+     */
+    public @Nullable String match(@NonNull String apiKey) {
+        // Borrow a hasher, creating one if all are in use
+        Hasher hasher = HASHERS.poll();
+        if (hasher == null) {
+            hasher = new Hasher();
+        }
+
+        try {
+            byte[] hash = hasher.hash(apiKey);
+
+            // Compare against every key without stopping early
+            int matched = -1;
+            for (int index = 0; index < this.hashes.length; index++) {
+                if (MessageDigest.isEqual(this.hashes[index], hash)) {
+                    matched = index;
+                }
+            }
+
+            return matched < 0 ? null : this.names[matched];
+        } finally {
+            // Dropped if the pool is full
+            HASHERS.offer(hasher);
+        }
+    }
+
+    /**
+     * @return The amount of keys in the set.
+     */
+    public int size() {
+        return this.hashes.length;
+    }
+
+    private static boolean isHex(@NonNull String value) {
+        for (int index = 0; index < value.length(); index++) {
+            if (Character.digit(value.charAt(index), 16) < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static @NonNull MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not available", exception);
+        }
+    }
+
+    /**
+     * Represents a digest and the buffer its hashes are written to, used by one check at a time.
+     */
+    private static final class Hasher {
+
+        private final @NonNull MessageDigest digest = newDigest();
+        private final byte[] buffer = new byte[HASH_LENGTH];
+
+        private byte[] hash(@NonNull String apiKey) {
+            this.digest.reset();
+            for (int index = 0; index < apiKey.length(); index++) {
+                char character = apiKey.charAt(index);
+                if (character >= 0x80) {
+                    // Not ASCII, fall back to encoding the whole key
+                    this.digest.reset();
+                    this.digest.update(apiKey.getBytes(StandardCharsets.UTF_8));
+                    break;
+                }
+
+                this.digest.update((byte) character);
+            }
+
+            try {
+                this.digest.digest(this.buffer, 0, HASH_LENGTH);
+            } catch (DigestException exception) {
+                throw new IllegalStateException("Could not hash the API key", exception);
+            }
+
+            return this.buffer;
+        }
+
+    }
+}
\ No newline at end of file
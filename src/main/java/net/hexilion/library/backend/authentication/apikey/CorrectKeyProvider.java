@@ -1,43 +1,140 @@
 package net.hexilion.library.backend.authentication.apikey;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.io.*;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.logging.Logger;
 
 /**
- * Provides the correct API key that is used to validate the API key in
- * the response headers from all requests.
+ * Provides the correct API keys that are used to validate the API key in
+ * the request headers from all requests.
+ * <p>
+ * The directory of the key file is watched, and the keys are swapped out as a whole once the file
+ * changes, so keys can be rotated without a restart. If the changed file cannot be read or holds no
+ * valid keys, the previous keys stay in use. The watcher thread runs until {@link #stopWatching()} is called.
  */
 public class CorrectKeyProvider {
 
-    private final @NonNull String apiKey;
+    private final @NonNull Path apiKeyPath;
+    private final @NonNull Logger log;
+    private volatile @NonNull ApiKeySet apiKeys;
+    private volatile @Nullable WatchService watchService;
 
     public CorrectKeyProvider(@NonNull String apiKeyPath) {
-        this.apiKey = this.readApiKeyFromFile(apiKeyPath);
+        this.apiKeyPath = Paths.get(apiKeyPath).toAbsolutePath();
+        this.log = Logger.getLogger("authentication");
+        this.apiKeys = this.readApiKeysFromFile();
+        this.log.info("Loaded " + this.apiKeys.size() + " API keys.");
     }
 
     /**
-     * Reads the API key from the specified file path.
-     *
-     * @param apiKeyPath The path to the file containing the API key.
-     * @return The API key as a string.
+     * Stop watching the key file. Closing the watch service ends the watcher thread.
      */
-    private String readApiKeyFromFile(@NonNull String apiKeyPath) {
+    public void stopWatching() {
+        WatchService watchService = this.watchService;
+        if (watchService == null) {
+            return;
+        }
+
+        this.watchService = null;
         try {
-            Path filePath = Paths.get(apiKeyPath);
-            return Files.readString(filePath).trim();
+            watchService.close();
         } catch (IOException exception) {
-            throw new RuntimeException("Failed to read API key file: " + apiKeyPath, exception);
+            this.log.warning("Could not stop watching the API key file " + this.apiKeyPath + ": " + exception.getMessage());
         }
     }
 
     /**
-     * @return The correct API key used to validate API keys in incoming requests.
+     * Start watching the key file for changes on a background thread.
      */
-    public @NonNull String getCorrectApiKey() {
-        return this.apiKey;
+    public void startWatching() {
+        Path directory = this.apiKeyPath.getParent();
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException exception) {
+            this.log.warning("Could not watch the API key file " + this.apiKeyPath + ", keys are only read at startup: " + exception.getMessage());
+            return;
+        }
+
+        try {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException exception) {
+            // Do not leak the watch service if the directory cannot be watched
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // Nothing was watched yet
+            }
+
+            this.log.warning("Could not watch the API key file " + this.apiKeyPath + ", keys are only read at startup: " + exception.getMessage());
+            return;
+        }
+
+        this.watchService = watchService;
+        Thread thread = new Thread(() -> this.watch(watchService), "api-key-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return The correct API keys used to validate API keys in incoming requests.
+     */
+    public @NonNull ApiKeySet getCorrectApiKeys() {
+        return this.apiKeys;
+    }
+
+    private void watch(@NonNull WatchService watchService) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+
+                // Mounted secrets are replaced through links in the directory, so reload on any change in it
+                key.pollEvents();
+                this.reload();
+
+                if (!key.reset()) {
+                    this.log.warning("The directory of the API key file is no longer accessible, keys are no longer reloaded.");
+                    this.stopWatching();
+                    return;
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+            // Stopped watching
+        }
+    }
+
+    private void reload() {
+        try {
+            ApiKeySet reloaded = this.readApiKeysFromFile();
+            this.apiKeys = reloaded;
+            this.log.info("Reloaded " + reloaded.size() + " API keys.");
+        } catch (RuntimeException exception) {
+            this.log.warning("Could not reload the API keys, keeping the previous keys: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Reads the API keys from the key file.
+     *
+     * @return The API keys in the file.
+     */
+    private @NonNull ApiKeySet readApiKeysFromFile() {
+        try {
+            return ApiKeySet.parse(Files.readString(this.apiKeyPath));
+        } catch (IOException | IllegalArgumentException exception) {
+            throw new RuntimeException("Failed to read API key file: " + this.apiKeyPath, exception);
+        }
     }
 }
\ No newline at end of file
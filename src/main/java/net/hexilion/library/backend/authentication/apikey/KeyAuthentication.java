@@ -9,15 +9,16 @@ import java.util.Collection;
 
 /**
  * Represents an authentication token for the API key-based authentication.
+ * The principal is the name of the matched key, the key itself is not kept.
  */
 public class KeyAuthentication extends AbstractAuthenticationToken {
 
-    private final @NonNull String apiKey;
+    private final @NonNull String keyName;
 
-    public KeyAuthentication(@NonNull String apiKey, @NonNull Collection<? extends GrantedAuthority> authorities) {
+    public KeyAuthentication(@NonNull String keyName, @NonNull Collection<? extends GrantedAuthority> authorities) {
         super(authorities);
 
-        this.apiKey = apiKey;
+        this.keyName = keyName;
         this.setAuthenticated(true);
     }
 
@@ -28,6 +29,6 @@ public class KeyAuthentication extends AbstractAuthenticationToken {
 
     @Override
     public @NonNull Object getPrincipal() {
-        return this.apiKey;
+        return this.keyName;
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package net.hexilion.library.backend.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.health.MongoWarmUpReadiness;
+import net.hexilion.library.backend.response.HealthJsonResponse;
+import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for handling requests regarding the health of the service, used by probes during deployments.
+ */
+@RestController
+@RequestMapping("/health")
+public class HealthController {
+
+    private final @NonNull ApplicationAvailability availability;
+    private final @NonNull MongoWarmUpReadiness warmUpReadiness;
+
+    @Autowired
+    public HealthController(@NonNull ApplicationAvailability availability, @NonNull MongoWarmUpReadiness warmUpReadiness) {
+        this.availability = availability;
+        this.warmUpReadiness = warmUpReadiness;
+    }
+
+    @GetMapping("/liveness")
+    public AbstractBaseJsonResponse<LivenessState> getLiveness(@NonNull HttpServletResponse response) {
+        LivenessState state = this.availability.getLivenessState();
+        return new HealthJsonResponse<>(state, state == LivenessState.CORRECT, response);
+    }
+
+    @GetMapping("/readiness")
+    public AbstractBaseJsonResponse<ReadinessState> getReadiness(@NonNull HttpServletResponse response) {
+        ReadinessState state = this.warmUpReadiness.getReadinessState();
+        return new HealthJsonResponse<>(state, state == ReadinessState.ACCEPTING_TRAFFIC, response);
+    }
+}
\ No newline at end of file
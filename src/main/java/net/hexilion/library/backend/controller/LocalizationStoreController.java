@@ -1,16 +1,20 @@
 package net.hexilion.library.backend.controller;
 
-import com.mongodb.client.model.Filters;
 import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.ApplicationConfiguration;
 import net.hexilion.library.backend.controller.base.AbstractBaseMongoController;
 import net.hexilion.library.backend.database.mongo.MongoDataManager;
+import net.hexilion.library.backend.database.mongo.cache.MongoSnapshotCache;
 import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
 import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
-import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -22,18 +26,27 @@ public class LocalizationStoreController extends AbstractBaseMongoController {
 
     private static final @NonNull String LOCALIZATION_DATABASE = "localization";
 
+    private final @NonNull MongoSnapshotCache snapshotCache;
+
     @Autowired
-    public LocalizationStoreController(@NonNull MongoDataManager mongoDataManager) {
-        super(MongoInstanceType.MASTER, mongoDataManager);
+    public LocalizationStoreController(@NonNull MongoDataManager mongoDataManager, @NonNull ApplicationConfiguration configuration, @NonNull MongoSnapshotCache snapshotCache) {
+        super(MongoInstanceType.MASTER, mongoDataManager, configuration);
+
+        this.snapshotCache = snapshotCache;
     }
 
     @GetMapping("/get/{collection}")
-    public AbstractBaseJsonResponse<Document> getLocalizationStore(@NonNull @PathVariable(value = "collection") String collection, @RequestParam("identifier") String identifier, @NonNull HttpServletResponse response) {
-        return this.get(LOCALIZATION_DATABASE, collection, Filters.eq("_id", identifier), response);
+    public AbstractBaseJsonResponse<RawBsonDocument> getLocalizationStore(@NonNull @PathVariable(value = "collection") String collection, @RequestParam("identifier") String identifier, @Nullable @RequestParam(value = "fields", required = false) List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        return this.getCached(this.snapshotCache, LOCALIZATION_DATABASE, collection, identifier, fields, request, response);
     }
 
     @GetMapping("/get/all/{collection}")
-    public AbstractBaseJsonResponse<List<Document>> getLocalizationsFromCollection(@NonNull @PathVariable(value = "collection") String collection, @NonNull HttpServletResponse response) {
-        return this.getAll(LOCALIZATION_DATABASE, collection, response);
+    public AbstractBaseJsonResponse<List<RawBsonDocument>> getLocalizationsFromCollection(@NonNull @PathVariable(value = "collection") String collection, @Nullable @RequestParam(value = "limit", required = false) Integer limit, @Nullable @RequestParam(value = "after", required = false) String after, @Nullable @RequestParam(value = "fields", required = false) List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        return this.getAllCached(this.snapshotCache, LOCALIZATION_DATABASE, collection, limit, after, fields, request, response);
+    }
+
+    @GetMapping("/get/all/{collection}/stream")
+    public void streamLocalizationsFromCollection(@NonNull @PathVariable(value = "collection") String collection, @Nullable @RequestParam(value = "fields", required = false) List<String> fields, @NonNull HttpServletResponse response) throws IOException {
+        this.streamAll(LOCALIZATION_DATABASE, collection, fields, response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package net.hexilion.library.backend.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.admission.AdmissionController;
+import net.hexilion.library.backend.database.mongo.MongoDataManager;
+import net.hexilion.library.backend.database.mongo.MongoInstance;
+import net.hexilion.library.backend.database.mongo.breaker.MongoCircuitBreaker;
+import net.hexilion.library.backend.database.mongo.bulkhead.MongoBulkhead;
+import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import net.hexilion.library.backend.database.mongo.metrics.ConnectionPoolMetrics;
+import net.hexilion.library.backend.database.mongo.metrics.PrometheusMetricsWriter;
+import net.hexilion.library.backend.response.MetricsJsonResponse;
+import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Controller for handling requests regarding the metrics of the service.
+ */
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+
+    private final @NonNull MongoDataManager mongoDataManager;
+    private final @NonNull AdmissionController admissionController;
+
+    @Autowired
+    public MetricsController(@NonNull MongoDataManager mongoDataManager, @NonNull AdmissionController admissionController) {
+        this.mongoDataManager = mongoDataManager;
+        this.admissionController = admissionController;
+    }
+
+    @GetMapping("/pool")
+    public AbstractBaseJsonResponse<Map<String, Map<String, ConnectionPoolMetrics.Snapshot>>> getPoolMetrics(@NonNull HttpServletResponse response) {
+        return new MetricsJsonResponse<>(this.snapshotInstances(instance -> {
+            // The blocking and reactive client each have their own pool
+            Map<String, ConnectionPoolMetrics.Snapshot> pools = new LinkedHashMap<>();
+            pools.put("blocking", instance.getPoolMetrics().snapshot());
+            pools.put("reactive", instance.getReactivePoolMetrics().snapshot());
+            return pools;
+        }), response);
+    }
+
+    @GetMapping("/breakers")
+    public AbstractBaseJsonResponse<Map<String, MongoCircuitBreaker.Snapshot>> getBreakerMetrics(@NonNull HttpServletResponse response) {
+        return new MetricsJsonResponse<>(this.snapshotInstances(instance -> instance.getCircuitBreaker().snapshot()), response);
+    }
+
+    @GetMapping("/bulkheads")
+    public AbstractBaseJsonResponse<Map<String, MongoBulkhead.Snapshot>> getBulkheadMetrics(@NonNull HttpServletResponse response) {
+        return new MetricsJsonResponse<>(this.snapshotInstances(instance -> instance.getBulkhead().snapshot()), response);
+    }
+
+    @GetMapping("/admission")
+    public AbstractBaseJsonResponse<AdmissionController.Snapshot> getAdmissionMetrics(@NonNull HttpServletResponse response) {
+        return new MetricsJsonResponse<>(this.admissionController.snapshot(), response);
+    }
+
+    @GetMapping(value = "/prometheus", produces = PrometheusMetricsWriter.CONTENT_TYPE)
+    public String getPrometheusMetrics() {
+        return PrometheusMetricsWriter.write(this.mongoDataManager.getInstances());
+    }
+
+    /**
+     * @param snapshot Function taking a snapshot of the metrics of an instance.
+     * @return The snapshots of the loaded Mongo instances, by their type.
+     */
+    private <S> @NonNull Map<String, S> snapshotInstances(@NonNull Function<MongoInstance, S> snapshot) {
+        Map<String, S> metrics = new LinkedHashMap<>();
+        for (MongoInstanceType type : MongoInstanceType.VALUES) {
+            MongoInstance instance = this.mongoDataManager.getInstanceByType(type);
+            if (instance != null) {
+                metrics.put(type.name(), snapshot.apply(instance));
+            }
+        }
+
+        return metrics;
+    }
+}
\ No newline at end of file
@@ -1,16 +1,24 @@
 package net.hexilion.library.backend.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.mongodb.client.model.Filters;
 import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.ApplicationConfiguration;
 import net.hexilion.library.backend.controller.base.AbstractBaseMongoController;
 import net.hexilion.library.backend.database.mongo.MongoDataManager;
 import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import net.hexilion.library.backend.request.BulkOperationRequest;
 import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
+import net.hexilion.library.backend.response.base.BulkOperationResult;
+import net.hexilion.library.backend.response.base.MultiGetResult;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 /**
  * Controller for handling stored database network data related requests.
@@ -20,27 +28,42 @@ import org.springframework.web.bind.annotation.*;
 public class NetworkDataStoreController extends AbstractBaseMongoController {
 
     @Autowired
-    public NetworkDataStoreController(@NonNull MongoDataManager mongoDataManager) {
-        super(MongoInstanceType.NETWORK, mongoDataManager);
+    public NetworkDataStoreController(@NonNull MongoDataManager mongoDataManager, @NonNull ApplicationConfiguration configuration) {
+        super(MongoInstanceType.NETWORK, mongoDataManager, configuration);
     }
 
     @PostMapping("/create")
-    public AbstractBaseJsonResponse<Document> createNetworkStoreObject(@RequestBody @NonNull JsonNode body, @NonNull @RequestParam(value = "database") String database, @NonNull @RequestParam(value = "collection") String collection, @NonNull @RequestParam(value = "identifier") String identifier, @NonNull HttpServletResponse response) {
+    public AbstractBaseJsonResponse<Document> createNetworkStoreObject(@RequestBody @NonNull Document body, @NonNull @RequestParam(value = "database") String database, @NonNull @RequestParam(value = "collection") String collection, @NonNull @RequestParam(value = "identifier") String identifier, @NonNull HttpServletResponse response) {
         return this.create(database, collection, body, identifier, response);
     }
 
     @PutMapping("/update")
-    public AbstractBaseJsonResponse<Document> updateNetworkStoreObject(@RequestBody @NonNull JsonNode body, @NonNull @RequestParam(value = "database") String database, @NonNull @RequestParam(value = "collection") String collection, @NonNull @RequestParam(value = "identifier") String identifier, @NonNull HttpServletResponse response) {
+    public AbstractBaseJsonResponse<Document> updateNetworkStoreObject(@RequestBody @NonNull Document body, @NonNull @RequestParam(value = "database") String database, @NonNull @RequestParam(value = "collection") String collection, @NonNull @RequestParam(value = "identifier") String identifier, @NonNull HttpServletResponse response) {
         return this.update(database, collection, body, Filters.eq("_id", identifier), response);
     }
 
+    @PutMapping("/increment")
+    public AbstractBaseJsonResponse<Document> incrementNetworkStoreObject(@RequestBody @NonNull Document body, @NonNull @RequestParam(value = "database") String database, @NonNull @RequestParam(value = "collection") String collection, @NonNull @RequestParam(value = "identifier") String identifier, @NonNull HttpServletResponse response) {
+        return this.increment(database, collection, body, Filters.eq("_id", identifier), response);
+    }
+
     @DeleteMapping("/delete")
     public AbstractBaseJsonResponse<Document> deleteNetworkStoreObject(@NonNull @RequestParam(value = "database") String database, @NonNull @RequestParam(value = "collection") String collection, @NonNull @RequestParam(value = "identifier") String identifier, @NonNull HttpServletResponse response) {
         return this.delete(database, collection, Filters.eq("_id", identifier), response);
     }
 
+    @GetMapping("/get/multiple")
+    public AbstractBaseJsonResponse<MultiGetResult<Document>> getNetworkStoreObjectsByIdentifiers(@NonNull @RequestParam(value = "database") String database, @NonNull @RequestParam(value = "collection") String collection, @NonNull @RequestParam(value = "identifiers") List<String> identifiers, @Nullable @RequestParam(value = "fields", required = false) List<String> fields, @NonNull HttpServletResponse response) {
+        return this.getMultiple(database, collection, identifiers, fields, response);
+    }
+
+    @PostMapping("/bulk")
+    public AbstractBaseJsonResponse<List<BulkOperationResult>> bulkNetworkStoreObjects(@RequestBody @NonNull List<BulkOperationRequest> body, @NonNull @RequestParam(value = "database") String database, @NonNull @RequestParam(value = "collection") String collection, @NonNull HttpServletResponse response) {
+        return this.bulk(database, collection, body, response);
+    }
+
     @GetMapping("/get")
-    public AbstractBaseJsonResponse<Document> getNetworkStoreObjectByIdentifier(@NonNull @RequestParam(value = "database") String database, @NonNull @RequestParam(value = "collection") String collection, @NonNull @RequestParam(value = "identifier") String identifier, @NonNull HttpServletResponse response) {
-        return this.get(database, collection, Filters.eq("_id", identifier), response);
+    public AbstractBaseJsonResponse<RawBsonDocument> getNetworkStoreObjectByIdentifier(@NonNull @RequestParam(value = "database") String database, @NonNull @RequestParam(value = "collection") String collection, @NonNull @RequestParam(value = "identifier") String identifier, @Nullable @RequestParam(value = "fields", required = false) List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        return this.get(database, collection, Filters.eq("_id", identifier), fields, request, response);
     }
 }
\ No newline at end of file
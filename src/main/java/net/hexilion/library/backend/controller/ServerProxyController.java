@@ -1,47 +1,55 @@
 package net.hexilion.library.backend.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.mongodb.client.model.Filters;
 import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.ApplicationConfiguration;
 import net.hexilion.library.backend.controller.base.AbstractBaseMongoController;
 import net.hexilion.library.backend.database.mongo.MongoDataManager;
 import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import net.hexilion.library.backend.database.mongo.index.MongoIndex;
+import net.hexilion.library.backend.database.mongo.registry.ServerRegistry;
 import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
 import net.hexilion.library.backend.response.error.MissingParameterResponse;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
  * Controller for handling server related requests regarding proxies.
  */
 @RestController
+@MongoIndex(database = "network", collection = "proxies", keys = "port")
 @RequestMapping("/server/proxy")
 public class ServerProxyController extends AbstractBaseMongoController {
 
     private static final @NonNull String NETWORK_DATABASE = "network";
     private static final @NonNull String PROXY_COLLECTION = "proxies";
 
+    private final @NonNull ServerRegistry registry;
+
     @Autowired
-    public ServerProxyController(@NonNull MongoDataManager mongoDataManager) {
-        super(MongoInstanceType.MASTER, mongoDataManager);
+    public ServerProxyController(@NonNull MongoDataManager mongoDataManager, @NonNull ApplicationConfiguration configuration) {
+        super(MongoInstanceType.MASTER, mongoDataManager, configuration);
+        this.registry = mongoDataManager.getServerRegistry(MongoInstanceType.MASTER, NETWORK_DATABASE, PROXY_COLLECTION);
     }
 
     @PostMapping("/create")
-    public AbstractBaseJsonResponse<Document> createProxyObject(@RequestBody @NonNull JsonNode body, @NonNull @RequestParam(value = "identifier") String identifier, @NonNull HttpServletResponse response) {
-        return this.create(NETWORK_DATABASE, PROXY_COLLECTION, body, identifier, response);
+    public AbstractBaseJsonResponse<Document> createProxyObject(@RequestBody @NonNull Document body, @NonNull @RequestParam(value = "identifier") String identifier, @NonNull HttpServletResponse response) {
+        return this.createRegistered(this.registry, body, identifier, response);
     }
 
     @PutMapping("/update")
-    public AbstractBaseJsonResponse<Document> updateProxyObject(@RequestBody @NonNull JsonNode body, @Nullable @RequestParam(value = "identifier", required = false) String identifier, @RequestParam(value = "port", required = false) Integer port, @NonNull HttpServletResponse response) {
+    public AbstractBaseJsonResponse<Document> updateProxyObject(@RequestBody @NonNull Document body, @Nullable @RequestParam(value = "identifier", required = false) String identifier, @RequestParam(value = "port", required = false) Integer port, @NonNull HttpServletResponse response) {
         if (identifier != null) {
-            return this.update(NETWORK_DATABASE, PROXY_COLLECTION, body, Filters.eq("_id", identifier), response);
+            return this.updateRegistered(this.registry, body, identifier, response);
         } else if (port != null) {
-            return this.update(NETWORK_DATABASE, PROXY_COLLECTION, body, Filters.eq("port", port), response);
+            return this.updateRegisteredByPort(this.registry, body, port, response);
         } else {
             return new MissingParameterResponse<>(response);
         }
@@ -49,22 +57,27 @@ public class ServerProxyController extends AbstractBaseMongoController {
 
     @DeleteMapping("/delete")
     public AbstractBaseJsonResponse<Document> deleteProxyObject(@NonNull @RequestParam(value = "identifier") String identifier, @NonNull HttpServletResponse response) {
-        return this.delete(NETWORK_DATABASE, PROXY_COLLECTION, Filters.eq("_id", identifier), response);
+        return this.deleteRegistered(this.registry, identifier, response);
     }
 
     @GetMapping("/get")
-    public AbstractBaseJsonResponse<Document> getInstanceByIdentifier(@Nullable @RequestParam(value = "identifier", required = false) String identifier, @RequestParam(value = "port", required = false) @Nullable Integer port, @NonNull HttpServletResponse response) {
+    public AbstractBaseJsonResponse<RawBsonDocument> getInstanceByIdentifier(@Nullable @RequestParam(value = "identifier", required = false) String identifier, @RequestParam(value = "port", required = false) @Nullable Integer port, @Nullable @RequestParam(value = "fields", required = false) List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
         if (identifier != null) {
-            return this.get(NETWORK_DATABASE, PROXY_COLLECTION, Filters.eq("_id", identifier), response);
+            return this.getRegistered(this.registry, identifier, fields, request, response);
         } else if (port != null) {
-            return this.get(NETWORK_DATABASE, PROXY_COLLECTION, Filters.eq("port", port), response);
+            return this.getRegisteredByPort(this.registry, port, fields, request, response);
         } else {
             return new MissingParameterResponse<>(response);
         }
     }
 
     @GetMapping("/get/all")
-    public AbstractBaseJsonResponse<List<Document>> getStoredProxies(@NonNull HttpServletResponse response) {
-        return this.getAll(NETWORK_DATABASE, PROXY_COLLECTION, response);
+    public AbstractBaseJsonResponse<List<RawBsonDocument>> getStoredProxies(@Nullable @RequestParam(value = "limit", required = false) Integer limit, @Nullable @RequestParam(value = "after", required = false) String after, @Nullable @RequestParam(value = "fields", required = false) List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        return this.getAllRegistered(this.registry, limit, after, fields, request, response);
+    }
+
+    @GetMapping("/get/all/stream")
+    public void streamStoredProxies(@Nullable @RequestParam(value = "fields", required = false) List<String> fields, @NonNull HttpServletResponse response) throws IOException {
+        this.streamAllRegistered(this.registry, fields, response);
     }
 }
\ No newline at end of file
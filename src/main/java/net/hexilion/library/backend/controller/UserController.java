@@ -1,19 +1,27 @@
 package net.hexilion.library.backend.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.mongodb.client.model.Filters;
 import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.ApplicationConfiguration;
 import net.hexilion.library.backend.controller.base.AbstractBaseMongoController;
 import net.hexilion.library.backend.database.mongo.MongoDataManager;
 import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
 import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
+import net.hexilion.library.backend.response.base.MultiGetResult;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controller for handling user related requests.
+ * Creating, updating and getting users is non-blocking, since proxies fan these requests out in parallel.
  */
 @RestController
 @RequestMapping("/user")
@@ -23,22 +31,32 @@ public class UserController extends AbstractBaseMongoController {
     private static final @NonNull String USER_COLLECTION = "users";
 
     @Autowired
-    public UserController(@NonNull MongoDataManager mongoDataManager) {
-        super(MongoInstanceType.NETWORK, mongoDataManager);
+    public UserController(@NonNull MongoDataManager mongoDataManager, @NonNull ApplicationConfiguration configuration) {
+        super(MongoInstanceType.NETWORK, mongoDataManager, configuration);
     }
 
     @PostMapping("/create")
-    public AbstractBaseJsonResponse<Document> createUserObject(@RequestBody @NonNull JsonNode body, @NonNull @RequestParam(value = "uuid") String userUuid, @NonNull HttpServletResponse response) {
-        return this.create(USER_DATABASE, USER_COLLECTION, body, userUuid, response);
+    public CompletableFuture<ResponseEntity<AbstractBaseJsonResponse<Document>>> createUserObject(@RequestBody @NonNull Document body, @NonNull @RequestParam(value = "uuid") String userUuid, @NonNull HttpServletResponse response) {
+        return this.createAsync(USER_DATABASE, USER_COLLECTION, body, userUuid, response);
     }
 
     @PutMapping("/update")
-    public AbstractBaseJsonResponse<Document> updateUserObject(@RequestBody @NonNull JsonNode body, @NonNull @RequestParam(value = "uuid") String userUuid, @NonNull HttpServletResponse response) {
-        return this.update(USER_DATABASE, USER_COLLECTION, body, Filters.eq("_id", userUuid), response);
+    public CompletableFuture<ResponseEntity<AbstractBaseJsonResponse<Document>>> updateUserObject(@RequestBody @NonNull Document body, @NonNull @RequestParam(value = "uuid") String userUuid, @NonNull HttpServletResponse response) {
+        return this.updateAsync(USER_DATABASE, USER_COLLECTION, body, Filters.eq("_id", userUuid), response);
+    }
+
+    @PutMapping("/increment")
+    public AbstractBaseJsonResponse<Document> incrementUserObject(@RequestBody @NonNull Document body, @NonNull @RequestParam(value = "uuid") String userUuid, @NonNull HttpServletResponse response) {
+        return this.increment(USER_DATABASE, USER_COLLECTION, body, Filters.eq("_id", userUuid), response);
     }
 
     @GetMapping("/get")
-    public AbstractBaseJsonResponse<Document> getInstanceByUuid(@NonNull @RequestParam(value = "uuid") String userUuid, @NonNull HttpServletResponse response) {
-        return this.get(USER_DATABASE, USER_COLLECTION, Filters.eq("_id", userUuid), response);
+    public CompletableFuture<ResponseEntity<AbstractBaseJsonResponse<RawBsonDocument>>> getInstanceByUuid(@NonNull @RequestParam(value = "uuid") String userUuid, @Nullable @RequestParam(value = "fields", required = false) List<String> fields, @NonNull HttpServletResponse response) {
+        return this.getAsync(USER_DATABASE, USER_COLLECTION, Filters.eq("_id", userUuid), fields, response);
+    }
+
+    @GetMapping("/get/multiple")
+    public AbstractBaseJsonResponse<MultiGetResult<Document>> getUsersByUuids(@NonNull @RequestParam(value = "uuids") List<String> userUuids, @Nullable @RequestParam(value = "fields", required = false) List<String> fields, @NonNull HttpServletResponse response) {
+        return this.getMultiple(USER_DATABASE, USER_COLLECTION, userUuids, fields, response);
     }
 }
\ No newline at end of file
@@ -1,38 +1,105 @@
 package net.hexilion.library.backend.controller.base;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.client.model.Filters;
 import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.ApplicationConfiguration;
+import net.hexilion.library.backend.database.mongo.AsyncMongoRepository;
+import net.hexilion.library.backend.database.mongo.BulkDocumentOperation;
+import net.hexilion.library.backend.database.mongo.DocumentDigest;
+import net.hexilion.library.backend.database.mongo.DocumentProjection;
+import net.hexilion.library.backend.database.mongo.DocumentUpdates;
+import net.hexilion.library.backend.database.mongo.JsonDocumentActionOutcome;
 import net.hexilion.library.backend.database.mongo.MongoDataManager;
 import net.hexilion.library.backend.database.mongo.MongoRepository;
+import net.hexilion.library.backend.database.mongo.PageCursor;
+import net.hexilion.library.backend.database.mongo.cache.CachedDocument;
+import net.hexilion.library.backend.database.mongo.cache.CollectionSnapshot;
+import net.hexilion.library.backend.database.mongo.cache.MongoSnapshotCache;
+import net.hexilion.library.backend.database.mongo.enums.BulkDocumentAction;
 import net.hexilion.library.backend.database.mongo.enums.JsonDocumentActionResult;
 import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import net.hexilion.library.backend.database.mongo.registry.ServerRegistry;
+import net.hexilion.library.backend.exception.InvalidRequestParameterException;
+import net.hexilion.library.backend.exception.MongoBulkheadFullException;
+import net.hexilion.library.backend.exception.ServerRegistryNotLoadedException;
+import net.hexilion.library.backend.exception.MongoCircuitOpenException;
+import net.hexilion.library.backend.exception.RequestDeadlineExceededException;
+import net.hexilion.library.backend.request.BulkOperationRequest;
+import net.hexilion.library.backend.response.BulkRequestJsonResponse;
 import net.hexilion.library.backend.response.DeleteRequestJsonResponse;
 import net.hexilion.library.backend.response.GetRequestJsonResponse;
+import net.hexilion.library.backend.response.PaginatedGetRequestJsonResponse;
 import net.hexilion.library.backend.response.PostRequestJsonResponse;
 import net.hexilion.library.backend.response.PutRequestJsonResponse;
 import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
+import net.hexilion.library.backend.response.base.BulkOperationResult;
+import net.hexilion.library.backend.response.base.DeferredStatusResponse;
 import net.hexilion.library.backend.response.base.FetchedFrom;
+import net.hexilion.library.backend.response.base.MultiGetResult;
 import net.hexilion.library.backend.response.error.DataNotFoundResponse;
+import net.hexilion.library.backend.response.error.DeadlineExceededResponse;
 import net.hexilion.library.backend.response.error.InvalidJsonDocumentActionResponse;
+import net.hexilion.library.backend.response.error.MissingParameterResponse;
+import net.hexilion.library.backend.response.error.ServiceUnavailableResponse;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
 import org.bson.conversions.Bson;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriter;
+import org.bson.json.JsonWriterSettings;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * Base controller to provide common functionality used in all controllers.
+ * <p>
+ * Every operation has a blocking variant running on the request thread and some have a non-blocking
+ * variant, suffixed with 'Async', that releases the request thread until the database has replied.
  */
 public abstract class AbstractBaseMongoController extends MongoRepository {
 
+    private static final @NonNull JsonWriterSettings STREAM_JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.RELAXED)
+            .build();
+    private static final @NonNull DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+
     private final @NonNull ObjectMapper objectMapper;
+    private final @NonNull AsyncMongoRepository asyncRepository;
+    private final @NonNull ApplicationConfiguration configuration;
 
-    public AbstractBaseMongoController(@NonNull MongoInstanceType mongoInstanceType, @NonNull MongoDataManager mongoDataManager) {
+    public AbstractBaseMongoController(@NonNull MongoInstanceType mongoInstanceType, @NonNull MongoDataManager mongoDataManager, @NonNull ApplicationConfiguration configuration) {
         super(mongoInstanceType, mongoDataManager);
 
         this.objectMapper = new ObjectMapper();
+        this.asyncRepository = new AsyncMongoRepository(mongoInstanceType, mongoDataManager);
+        this.configuration = configuration;
     }
 
     /**
@@ -47,32 +114,20 @@ public abstract class AbstractBaseMongoController extends MongoRepository {
      * @param response HTTP response from the request.
      * @return Custom JSON response object.
      */
-    public AbstractBaseJsonResponse<Document> create(@NonNull String database, @NonNull String collection, @NonNull JsonNode body, @NonNull String identifier, @NonNull HttpServletResponse response) {
+    public AbstractBaseJsonResponse<Document> create(@NonNull String database, @NonNull String collection, @NonNull Document body, @NonNull String identifier, @NonNull HttpServletResponse response) {
         // Create a Mongo Bson document and insert the request body contents
         Document document = new Document("_id", identifier);
-        document.putAll(Document.parse(body.toString()));
+        document.putAll(body);
 
         // Handle different identifier scenarios
-        if (identifier.equals("")) {
-            return new InvalidJsonDocumentActionResponse<>("The identifier is empty.", response);
-        } else if (!document.containsKey("_id")) {
-            return new InvalidJsonDocumentActionResponse<>("No '_id' field could be found in the JSON document.", response);
-        } else if (!document.getString("_id").equals(identifier)) {
-            return new InvalidJsonDocumentActionResponse<>("The '_id' field in the JSON document is not equal to the provided 'identifier' request parameter.", response);
+        InvalidJsonDocumentActionResponse<Document> invalidResponse = this.validateCreatedDocument(document, identifier, response);
+        if (invalidResponse != null) {
+            return invalidResponse;
         }
 
         // Try to create the JSON document
         JsonDocumentActionResult result = this.createDocument(database, collection, identifier, document);
-
-        // Validate the result
-        if (result == JsonDocumentActionResult.NO_COLLECTION) {
-            return this.collectionDoesNotExistResponse(collection, response);
-        } else if (result == JsonDocumentActionResult.ALREADY_EXISTS) {
-            return this.documentWithIdentifierAlreadyExistResponse(identifier, response);
-        }
-
-        // The creation result was successful, return successful POST response
-        return new PostRequestJsonResponse<>(document, response);
+        return this.createResultResponse(result, document, collection, identifier, response);
     }
 
     /**
@@ -83,35 +138,56 @@ public abstract class AbstractBaseMongoController extends MongoRepository {
      * @param database Name/identifier of the database to get the collection from.
      * @param collection Name/identifier of the collection to update the document in.
      * @param body JSON body contents included in the HTTP request. This content includes the updates to perform to the document. Can include new fields to append but also existing ones to replace.
+     *             Nested fields can be addressed with dot paths and fields with a null value are removed.
      * @param filter Bson filter to find the target document to update.
      * @param response HTTP response from the request.
      * @return Custom JSON response object.
      */
-    public AbstractBaseJsonResponse<Document> update(@NonNull String database, @NonNull String collection, @NonNull JsonNode body, @NonNull Bson filter, @NonNull HttpServletResponse response) {
-        // Convert the request body contents to a map
-        Map<String, Object> updateData = this.objectMapper.convertValue(body, Map.class);
-
-        // The document identifier cannot be updated
-        if (updateData.containsKey("_id")) {
-            return new InvalidJsonDocumentActionResponse<>("You cannot modify the identifier ('_id') value.", response);
+    public AbstractBaseJsonResponse<Document> update(@NonNull String database, @NonNull String collection, @NonNull Document body, @NonNull Bson filter, @NonNull HttpServletResponse response) {
+        // Validate the fields to update, the document identifier cannot be updated
+        try {
+            DocumentUpdates.validatePaths(body.keySet());
+        } catch (IllegalArgumentException exception) {
+            return new InvalidJsonDocumentActionResponse<>(exception.getMessage(), response);
         }
 
         // Try to update the JSON document
-        JsonDocumentActionResult result = this.updateDocument(database, collection, filter, updateData);
+        JsonDocumentActionOutcome outcome = this.updateDocument(database, collection, filter, body);
+        return this.updateOutcomeResponse(outcome, collection, filter, response);
+    }
 
-        // Validate the result
-        if (result == JsonDocumentActionResult.NO_COLLECTION) {
-            return this.collectionDoesNotExistResponse(collection, response);
-        } else if (result == JsonDocumentActionResult.NO_EXIST) {
-            return this.documentWithIdentifierDoesNotExistResponse(filter, response);
+    /**
+     * Atomically increment numeric fields of an existing JSON document in the target database
+     * and collection in the selected instance, without reading the document first.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to update the document in.
+     * @param body JSON body contents included in the HTTP request. Maps the fields to increment, addressed with dot paths, to the numeric amount to increment them by.
+     * @param filter Bson filter to find the target document to update.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    public AbstractBaseJsonResponse<Document> increment(@NonNull String database, @NonNull String collection, @NonNull Document body, @NonNull Bson filter, @NonNull HttpServletResponse response) {
+        // Collect the amounts, the request body already keeps their number types
+        Map<String, Number> increments = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : body.entrySet()) {
+            if (!(field.getValue() instanceof Number amount)) {
+                return new InvalidJsonDocumentActionResponse<>("The increment of field '" + field.getKey() + "' is not a number.", response);
+            }
+
+            increments.put(field.getKey(), amount);
         }
 
-        // Update was a success, get the document that was just updated
-        Document document = this.getDocument(database, collection, filter);
-        assert document != null;
+        // Validate the fields to increment, the document identifier cannot be updated
+        try {
+            DocumentUpdates.validatePaths(increments.keySet());
+        } catch (IllegalArgumentException exception) {
+            return new InvalidJsonDocumentActionResponse<>(exception.getMessage(), response);
+        }
 
-        // Return successful PUT response
-        return new PutRequestJsonResponse<>(document, response);
+        // Try to increment the fields of the JSON document
+        JsonDocumentActionOutcome outcome = this.incrementDocument(database, collection, filter, increments);
+        return this.updateOutcomeResponse(outcome, collection, filter, response);
     }
 
     /**
@@ -126,70 +202,1057 @@ public abstract class AbstractBaseMongoController extends MongoRepository {
      * @return Custom JSON response object.
      */
     public AbstractBaseJsonResponse<Document> delete(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @NonNull HttpServletResponse response) {
-        // Get the document to be deleted
-        Document documentToDelete = this.getDocument(database, collection, filter);
-
         // Try to delete the document
-        JsonDocumentActionResult result = this.deleteDocument(database, collection, filter);
+        JsonDocumentActionOutcome outcome = this.deleteDocument(database, collection, filter);
+        return this.deleteOutcomeResponse(outcome, collection, filter, response);
+    }
 
-        // Validate the result
-        if (result == JsonDocumentActionResult.NO_COLLECTION) {
+    /**
+     * Perform a batch of create, update and delete operations on JSON documents in the target
+     * database and collection in the selected instance, using a single bulk write. The whole batch
+     * is rejected if any operation is invalid or if multiple operations target the same document,
+     * otherwise every operation gets its own result.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to perform the operations in.
+     * @param body List of operations included in the HTTP request.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    public AbstractBaseJsonResponse<List<BulkOperationResult>> bulk(@NonNull String database, @NonNull String collection, @NonNull List<BulkOperationRequest> body, @NonNull HttpServletResponse response) {
+        // Validate the size of the batch
+        if (body.isEmpty()) {
+            return new InvalidJsonDocumentActionResponse<>("The bulk request does not contain any operations.", response);
+        } else if (body.size() > this.configuration.getMaxBulkOperations()) {
+            return new InvalidJsonDocumentActionResponse<>("The bulk request cannot contain more than " + this.configuration.getMaxBulkOperations() + " operations.", response);
+        }
+
+        // Validate and convert every operation
+        List<BulkDocumentOperation> operations = new ArrayList<>(body.size());
+        Set<String> identifiers = new HashSet<>(body.size());
+        for (int index = 0; index < body.size(); index++) {
+            BulkOperationRequest request = body.get(index);
+            if (request == null) {
+                return new InvalidJsonDocumentActionResponse<>("The operation at index " + index + " is empty.", response);
+            }
+
+            String identifier = request.identifier();
+            if (request.action() == null) {
+                return new InvalidJsonDocumentActionResponse<>("The operation at index " + index + " has no valid action.", response);
+            } else if (identifier == null || identifier.equals("")) {
+                return new InvalidJsonDocumentActionResponse<>("The operation at index " + index + " has an empty identifier.", response);
+            } else if (!identifiers.add(identifier)) {
+                // The operations are unordered and their results are told apart per document
+                return new InvalidJsonDocumentActionResponse<>("The operation at index " + index + " targets the document '" + identifier + "' of an earlier operation.", response);
+            }
+
+            Document document = null;
+            if (request.action() == BulkDocumentAction.CREATE) {
+                if (request.document() == null) {
+                    return new InvalidJsonDocumentActionResponse<>("The create operation at index " + index + " has no document.", response);
+                }
+
+                document = new Document("_id", identifier);
+                document.putAll(request.document());
+                if (!identifier.equals(document.get("_id"))) {
+                    return new InvalidJsonDocumentActionResponse<>("The '_id' field of the document at index " + index + " is not equal to its identifier.", response);
+                }
+            } else if (request.action() == BulkDocumentAction.UPDATE) {
+                if (request.document() == null) {
+                    return new InvalidJsonDocumentActionResponse<>("The update operation at index " + index + " has no document.", response);
+                }
+
+                document = request.document();
+                try {
+                    DocumentUpdates.validatePaths(document.keySet());
+                } catch (IllegalArgumentException exception) {
+                    return new InvalidJsonDocumentActionResponse<>("The update operation at index " + index + " is invalid: " + exception.getMessage(), response);
+                }
+            }
+
+            operations.add(new BulkDocumentOperation(request.action(), identifier, document));
+        }
+
+        // Perform all operations
+        List<JsonDocumentActionResult> results = this.bulkWriteDocuments(database, collection, operations);
+        if (results == null) {
             return this.collectionDoesNotExistResponse(collection, response);
-        } else if (result == JsonDocumentActionResult.NO_EXIST) {
-            return this.documentWithIdentifierDoesNotExistResponse(filter, response);
         }
 
-        // The deletion result was successful, return successful DELETE response
-        assert documentToDelete != null;
-        return new DeleteRequestJsonResponse<>(documentToDelete, response);
+        // Pair every result with its operation
+        List<BulkOperationResult> data = new ArrayList<>(results.size());
+        for (int index = 0; index < results.size(); index++) {
+            BulkDocumentOperation operation = operations.get(index);
+            data.add(new BulkOperationResult(operation.documentId(), operation.action(), results.get(index)));
+        }
+
+        return new BulkRequestJsonResponse<>(data, response);
     }
 
     /**
      * Retrieve an existing JSON document in the target database and collection in the
      * selected instance. Handles the exception of the document not existing and being null.
+     * The document is kept in its raw BSON form and written straight into the response.
+     * The response carries a strong ETag of the document, requests with a matching 'If-None-Match'
+     * header are answered with 304 and no body.
      *
      * @param database Name/identifier of the database to get the collection from.
      * @param collection Name/identifier of the collection to get the document in.
      * @param filter Bson filter to find the target document to retrieve.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full document.
+     * @param request HTTP request, used to check the conditional request headers.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object, or null if the document was not modified.
+     */
+    public @Nullable AbstractBaseJsonResponse<RawBsonDocument> get(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @Nullable List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        // Get the raw JSON document
+        RawBsonDocument document = this.getRawDocument(database, collection, filter, projection);
+        if (document != null && request.checkNotModified(DocumentDigest.of(document))) {
+            return null;
+        }
+
+        return this.documentResponse(document, database, collection, filter, response);
+    }
+
+    /**
+     * Retrieve a page of existing JSON documents in the target database and collection in the
+     * selected instance. Handles the exception of the collection not existing and being null.
+     * Pages are ordered by the '_id' value, the response includes the cursor of the next page.
+     * Requests without a limit and cursor retrieve all documents in a single unpaginated response.
+     * The response carries a strong ETag of the page, requests with a matching 'If-None-Match'
+     * header are answered with 304 and no body.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to get the documents from.
+     * @param limit The maximum amount of documents in the page, or null to use the default limit (or to get all documents without a cursor). Capped at the maximum limit.
+     * @param after The cursor returned with the previous page, or null to get the first page.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full documents.
+     * @param request HTTP request, used to check the conditional request headers.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object, or null if the page was not modified.
+     */
+    public @Nullable AbstractBaseJsonResponse<List<RawBsonDocument>> getAll(@NonNull String database, @NonNull String collection, @Nullable Integer limit, @Nullable String after, @Nullable List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        // Resolve the page size and the cursor of the previous page
+        int pageLimit = this.resolvePageLimit(limit, after);
+        if (pageLimit < 0) {
+            return this.invalidPageLimitResponse(response);
+        }
+        BsonValue afterIdentifier = this.decodeCursor(after);
+
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        // Get the page of raw JSON documents
+        List<RawBsonDocument> list = this.getRawDocumentList(database, collection, afterIdentifier, pageLimit, projection);
+        if (list != null) {
+            List<String> digests = new ArrayList<>(list.size());
+            for (RawBsonDocument document : list) {
+                digests.add(DocumentDigest.of(document));
+            }
+
+            if (request.checkNotModified(DocumentDigest.combine(digests))) {
+                return null;
+            }
+        }
+
+        return this.pageResponse(list, pageLimit, database, collection, response);
+    }
+
+    /**
+     * Retrieve multiple existing JSON documents by their identifiers in the target database and
+     * collection in the selected instance, using a single query. Identifiers that were not found
+     * are listed separately instead of failing the request.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to get the documents in.
+     * @param identifiers The identifiers of the documents to retrieve.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full documents.
      * @param response HTTP response from the request.
      * @return Custom JSON response object.
      */
-    public AbstractBaseJsonResponse<Document> get(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @NonNull HttpServletResponse response) {
-        // Get the JSON document
-        Document document = this.getDocument(database, collection, filter);
+    public AbstractBaseJsonResponse<MultiGetResult<Document>> getMultiple(@NonNull String database, @NonNull String collection, @NonNull List<String> identifiers, @Nullable List<String> fields, @NonNull HttpServletResponse response) {
+        // Validate the amount of identifiers, duplicates are only looked up once
+        LinkedHashSet<String> uniqueIdentifiers = new LinkedHashSet<>(identifiers);
+        if (uniqueIdentifiers.isEmpty()) {
+            return new MissingParameterResponse<>(response);
+        } else if (uniqueIdentifiers.size() > this.configuration.getMaxMultiGetIdentifiers()) {
+            return new InvalidJsonDocumentActionResponse<>("Cannot look up more than " + this.configuration.getMaxMultiGetIdentifiers() + " identifiers at once.", response);
+        }
+
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        // Get all the JSON documents
+        Map<String, Document> documents = this.getDocuments(database, collection, uniqueIdentifiers, projection);
+        if (documents == null) {
+            return new DataNotFoundResponse<>(collection, response);
+        }
+
+        // Keep the requested order and collect the identifiers that were not found
+        Map<String, Document> found = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String identifier : uniqueIdentifiers) {
+            Document document = documents.get(identifier);
+            if (document == null) {
+                missing.add(identifier);
+            } else {
+                found.put(identifier, document);
+            }
+        }
+
+        // The request was successful, return successful GET response
+        FetchedFrom fetchedFrom = new FetchedFrom(database, collection);
+        return new GetRequestJsonResponse<>(new MultiGetResult<>(found, missing), fetchedFrom, response);
+    }
+
+    /**
+     * Retrieve an existing JSON document through a snapshot cache of its collection. Falls back to
+     * the database when the collection is not cached. The ETag of a cached document is computed when
+     * it is cached, so conditional requests for unmodified documents are answered from memory alone.
+     *
+     * @param cache The snapshot cache to read the collection from.
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to get the document in.
+     * @param identifier The identifier '_id' value of the document to retrieve.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full document.
+     * @param request HTTP request, used to check the conditional request headers.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object, or null if the document was not modified.
+     * @see AbstractBaseMongoController#get(String, String, Bson, List, WebRequest, HttpServletResponse)
+     */
+    public @Nullable AbstractBaseJsonResponse<RawBsonDocument> getCached(@NonNull MongoSnapshotCache cache, @NonNull String database, @NonNull String collection, @NonNull String identifier, @Nullable List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        // The collection is not cached, read it from the database
+        CollectionSnapshot snapshot = cache.getSnapshot(database, collection);
+        if (snapshot == null) {
+            return this.get(database, collection, Filters.eq("_id", identifier), fields, request, response);
+        }
+
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
 
         // The document does not exist
-        if (document == null) {
-            String identifier = filter.toBsonDocument().getFirstKey();
+        CachedDocument cached = snapshot.get(identifier);
+        if (cached == null) {
             return new DataNotFoundResponse<>(collection, identifier, response);
         }
 
+        // Only projected documents have to be hashed again
+        RawBsonDocument document = this.project(cached.document(), projection);
+        String digest = projection == null ? cached.digest() : DocumentDigest.of(document);
+        if (request.checkNotModified(digest)) {
+            return null;
+        }
+
         // The request was successful, return successful GET response
         FetchedFrom fetchedFrom = new FetchedFrom(database, collection);
         return new GetRequestJsonResponse<>(document, fetchedFrom, response);
     }
 
     /**
-     * Retrieve all existing JSON documents in the target database and collection in the
-     * selected instance. Handles the exception of the collection not existing and being null.
+     * Retrieve a page of existing JSON documents through a snapshot cache of their collection.
+     * Falls back to the database when the collection is not cached.
      *
+     * @param cache The snapshot cache to read the collection from.
      * @param database Name/identifier of the database to get the collection from.
-     * @param collection Name/identifier of the collection to get all documents from.
+     * @param collection Name/identifier of the collection to get the documents from.
+     * @param limit The maximum amount of documents in the page, or null to use the default limit (or to get all documents without a cursor). Capped at the maximum limit.
+     * @param after The cursor returned with the previous page, or null to get the first page.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full documents.
+     * @param request HTTP request, used to check the conditional request headers.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object, or null if the page was not modified.
+     * @see AbstractBaseMongoController#getAll(String, String, Integer, String, List, WebRequest, HttpServletResponse)
+     */
+    public @Nullable AbstractBaseJsonResponse<List<RawBsonDocument>> getAllCached(@NonNull MongoSnapshotCache cache, @NonNull String database, @NonNull String collection, @Nullable Integer limit, @Nullable String after, @Nullable List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        // The collection is not cached, read it from the database
+        CollectionSnapshot snapshot = cache.getSnapshot(database, collection);
+        if (snapshot == null) {
+            return this.getAll(database, collection, limit, after, fields, request, response);
+        }
+
+        // Resolve the page size and the cursor of the previous page
+        int pageLimit = this.resolvePageLimit(limit, after);
+        if (pageLimit < 0) {
+            return this.invalidPageLimitResponse(response);
+        }
+        BsonValue afterIdentifier = this.decodeCursor(after);
+
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        // Project the page of raw documents, only projected documents have to be hashed again
+        List<CachedDocument> page = snapshot.page(afterIdentifier, pageLimit);
+        List<RawBsonDocument> list = new ArrayList<>(page.size());
+        List<String> digests = new ArrayList<>(page.size());
+        for (CachedDocument cached : page) {
+            RawBsonDocument document = this.project(cached.document(), projection);
+            list.add(document);
+            digests.add(projection == null ? cached.digest() : DocumentDigest.of(document));
+        }
+
+        if (request.checkNotModified(DocumentDigest.combine(digests))) {
+            return null;
+        }
+
+        return this.pageResponse(list, pageLimit, database, collection, response);
+    }
+
+    /**
+     * Stream all existing JSON documents in the target database and collection in the
+     * selected instance as newline delimited JSON. Documents are written straight from the
+     * driver cursor to the response, so the collection is never held in memory.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to stream all documents from.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to stream the full documents.
+     * @param response HTTP response from the request.
+     * @throws IOException If writing to the response fails.
+     */
+    public void streamAll(@NonNull String database, @NonNull String collection, @Nullable List<String> fields, @NonNull HttpServletResponse response) throws IOException {
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        // Only fetching the documents runs on the instance, writing them to a slow client does not
+        boolean exists = this.consumeDocumentCursor(database, collection, projection, documents -> {
+            response.setStatus(200);
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+            // Pipe every raw document into its own JSON line
+            Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+            while (documents.hasNext()) {
+                this.writeJsonLine(writer, documents.next());
+            }
+
+            writer.flush();
+        });
+
+        // The collection does not exist
+        if (!exists) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            this.objectMapper.writeValue(response.getOutputStream(), new DataNotFoundResponse<>(collection, response));
+        }
+    }
+
+    /**
+     * Create a new JSON document in an in-memory server registry. The document is
+     * written to the database in the background.
+     *
+     * @param registry The registry of the collection to create the document in.
+     * @param body JSON body contents included in the HTTP request. This content will make up the initial document upon creation.
+     * @param identifier The identifier of the document. This will automatically be put as the '_id' value of the document.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     * @see AbstractBaseMongoController#create(String, String, Document, String, HttpServletResponse)
+     */
+    public AbstractBaseJsonResponse<Document> createRegistered(@NonNull ServerRegistry registry, @NonNull Document body, @NonNull String identifier, @NonNull HttpServletResponse response) {
+        // Create a Mongo Bson document and insert the request body contents
+        Document document = new Document("_id", identifier);
+        document.putAll(body);
+
+        // Handle different identifier scenarios
+        InvalidJsonDocumentActionResponse<Document> invalidResponse = this.validateCreatedDocument(document, identifier, response);
+        if (invalidResponse != null) {
+            return invalidResponse;
+        }
+
+        // Register the JSON document
+        JsonDocumentActionResult result = registry.create(document);
+        return this.createResultResponse(result, document, registry.getCollection(), identifier, response);
+    }
+
+    /**
+     * Update an existing JSON document in an in-memory server registry, by its identifier.
+     * The document is written to the database in the background.
+     *
+     * @param registry The registry of the collection to update the document in.
+     * @param body JSON body contents included in the HTTP request. This content includes the updates to perform to the document.
+     * @param identifier The identifier '_id' value of the document to update.
      * @param response HTTP response from the request.
      * @return Custom JSON response object.
+     * @see AbstractBaseMongoController#update(String, String, Document, Bson, HttpServletResponse)
      */
-    public AbstractBaseJsonResponse<List<Document>> getAll(@NonNull String database, @NonNull String collection, @NonNull HttpServletResponse response) {
-        // Get a list of all the JSON documents
-        List<Document> list = this.getDocumentList(database, collection);
+    public AbstractBaseJsonResponse<Document> updateRegistered(@NonNull ServerRegistry registry, @NonNull Document body, @NonNull String identifier, @NonNull HttpServletResponse response) {
+        // Validate the fields to update, the document identifier cannot be updated
+        try {
+            DocumentUpdates.validatePaths(body.keySet());
+        } catch (IllegalArgumentException exception) {
+            return new InvalidJsonDocumentActionResponse<>(exception.getMessage(), response);
+        }
+
+        JsonDocumentActionOutcome outcome = registry.update(identifier, body);
+        return this.updateOutcomeResponse(outcome, registry.getCollection(), Filters.eq("_id", identifier), response);
+    }
 
+    /**
+     * Update an existing JSON document in an in-memory server registry, by the port of the server.
+     * The document is written to the database in the background.
+     *
+     * @param registry The registry of the collection to update the document in.
+     * @param body JSON body contents included in the HTTP request. This content includes the updates to perform to the document.
+     * @param port The port of the server to update the document of.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     * @see AbstractBaseMongoController#update(String, String, Document, Bson, HttpServletResponse)
+     */
+    public AbstractBaseJsonResponse<Document> updateRegisteredByPort(@NonNull ServerRegistry registry, @NonNull Document body, int port, @NonNull HttpServletResponse response) {
+        // Validate the fields to update, the document identifier cannot be updated
+        try {
+            DocumentUpdates.validatePaths(body.keySet());
+        } catch (IllegalArgumentException exception) {
+            return new InvalidJsonDocumentActionResponse<>(exception.getMessage(), response);
+        }
+
+        JsonDocumentActionOutcome outcome = registry.updateByPort(port, body);
+        return this.updateOutcomeResponse(outcome, registry.getCollection(), Filters.eq("port", port), response);
+    }
+
+    /**
+     * Delete an existing JSON document from an in-memory server registry. The document is
+     * deleted from the database in the background.
+     *
+     * @param registry The registry of the collection to delete the document in.
+     * @param identifier The identifier '_id' value of the document to delete.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     * @see AbstractBaseMongoController#delete(String, String, Bson, HttpServletResponse)
+     */
+    public AbstractBaseJsonResponse<Document> deleteRegistered(@NonNull ServerRegistry registry, @NonNull String identifier, @NonNull HttpServletResponse response) {
+        JsonDocumentActionOutcome outcome = registry.delete(identifier);
+        return this.deleteOutcomeResponse(outcome, registry.getCollection(), Filters.eq("_id", identifier), response);
+    }
+
+    /**
+     * Retrieve an existing JSON document from an in-memory server registry, by its identifier.
+     *
+     * @param registry The registry of the collection to get the document in.
+     * @param identifier The identifier '_id' value of the document to retrieve.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full document.
+     * @param request HTTP request, used to check the conditional request headers.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object, or null if the document was not modified.
+     * @see AbstractBaseMongoController#get(String, String, Bson, List, WebRequest, HttpServletResponse)
+     */
+    public @Nullable AbstractBaseJsonResponse<RawBsonDocument> getRegistered(@NonNull ServerRegistry registry, @NonNull String identifier, @Nullable List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        return this.registeredDocumentResponse(registry, registry.get(identifier), "_id", fields, request, response);
+    }
+
+    /**
+     * Retrieve an existing JSON document from an in-memory server registry, by the port of the server.
+     *
+     * @param registry The registry of the collection to get the document in.
+     * @param port The port of the server to retrieve the document of.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full document.
+     * @param request HTTP request, used to check the conditional request headers.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object, or null if the document was not modified.
+     * @see AbstractBaseMongoController#get(String, String, Bson, List, WebRequest, HttpServletResponse)
+     */
+    public @Nullable AbstractBaseJsonResponse<RawBsonDocument> getRegisteredByPort(@NonNull ServerRegistry registry, int port, @Nullable List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        return this.registeredDocumentResponse(registry, registry.getByPort(port), "port", fields, request, response);
+    }
+
+    /**
+     * Retrieve multiple existing JSON documents by their identifiers from an in-memory server registry.
+     * Identifiers that were not found are listed separately instead of failing the request.
+     *
+     * @param registry The registry of the collection to get the documents in.
+     * @param identifiers The identifiers of the documents to retrieve.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full documents.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     * @see AbstractBaseMongoController#getMultiple(String, String, List, List, HttpServletResponse)
+     */
+    public AbstractBaseJsonResponse<MultiGetResult<Document>> getMultipleRegistered(@NonNull ServerRegistry registry, @NonNull List<String> identifiers, @Nullable List<String> fields, @NonNull HttpServletResponse response) {
+        // Validate the amount of identifiers, duplicates are only looked up once
+        LinkedHashSet<String> uniqueIdentifiers = new LinkedHashSet<>(identifiers);
+        if (uniqueIdentifiers.isEmpty()) {
+            return new MissingParameterResponse<>(response);
+        } else if (uniqueIdentifiers.size() > this.configuration.getMaxMultiGetIdentifiers()) {
+            return new InvalidJsonDocumentActionResponse<>("Cannot look up more than " + this.configuration.getMaxMultiGetIdentifiers() + " identifiers at once.", response);
+        }
+
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        // Keep the requested order and collect the identifiers that were not found
+        Map<String, Document> found = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String identifier : uniqueIdentifiers) {
+            CachedDocument registered = registry.get(identifier);
+            if (registered == null) {
+                missing.add(identifier);
+            } else {
+                found.put(identifier, this.decode(registered.document(), projection));
+            }
+        }
+
+        // The request was successful, return successful GET response
+        FetchedFrom fetchedFrom = new FetchedFrom(registry.getDatabase(), registry.getCollection());
+        return new GetRequestJsonResponse<>(new MultiGetResult<>(found, missing), fetchedFrom, response);
+    }
+
+    /**
+     * Retrieve a page of existing JSON documents from an in-memory server registry.
+     *
+     * @param registry The registry of the collection to get the documents from.
+     * @param limit The maximum amount of documents in the page, or null to use the default limit (or to get all documents without a cursor). Capped at the maximum limit.
+     * @param after The cursor returned with the previous page, or null to get the first page.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full documents.
+     * @param request HTTP request, used to check the conditional request headers.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object, or null if the page was not modified.
+     * @see AbstractBaseMongoController#getAll(String, String, Integer, String, List, WebRequest, HttpServletResponse)
+     */
+    public @Nullable AbstractBaseJsonResponse<List<RawBsonDocument>> getAllRegistered(@NonNull ServerRegistry registry, @Nullable Integer limit, @Nullable String after, @Nullable List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        // Resolve the page size and the cursor of the previous page
+        int pageLimit = this.resolvePageLimit(limit, after);
+        if (pageLimit < 0) {
+            return this.invalidPageLimitResponse(response);
+        }
+        BsonValue afterIdentifier = this.decodeCursor(after);
+        if (afterIdentifier != null && !afterIdentifier.isString()) {
+            throw new InvalidRequestParameterException("The cursor '" + after + "' is not a valid cursor.");
+        }
+
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        // Project the page of raw documents, only projected documents have to be hashed again
+        List<CachedDocument> page = registry.page(afterIdentifier, pageLimit);
+        List<RawBsonDocument> list = new ArrayList<>(page.size());
+        List<String> digests = new ArrayList<>(page.size());
+        for (CachedDocument registered : page) {
+            RawBsonDocument document = this.project(registered.document(), projection);
+            list.add(document);
+            digests.add(projection == null ? registered.digest() : DocumentDigest.of(document));
+        }
+
+        if (request.checkNotModified(DocumentDigest.combine(digests))) {
+            return null;
+        }
+
+        return this.pageResponse(list, pageLimit, registry.getDatabase(), registry.getCollection(), response);
+    }
+
+    /**
+     * Stream all existing JSON documents of an in-memory server registry as newline delimited JSON.
+     *
+     * @param registry The registry of the collection to stream all documents from.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to stream the full documents.
+     * @param response HTTP response from the request.
+     * @throws IOException If writing to the response fails.
+     * @see AbstractBaseMongoController#streamAll(String, String, List, HttpServletResponse)
+     */
+    public void streamAllRegistered(@NonNull ServerRegistry registry, @Nullable List<String> fields, @NonNull HttpServletResponse response) throws IOException {
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        response.setStatus(200);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // Pipe every raw document into its own JSON line
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        for (CachedDocument registered : registry.getAll()) {
+            this.writeJsonLine(writer, this.project(registered.document(), projection));
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Non-blocking variant of {@link AbstractBaseMongoController#create(String, String, Document, String, HttpServletResponse)}.
+     * The request thread is released while the document is being created.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to create the document in.
+     * @param body JSON body contents included in the HTTP request. This content will make up the initial document upon creation.
+     * @param identifier The identifier of the document. This will automatically be put as the '_id' value of the document.
+     * @param response HTTP response from the request.
+     * @return Future completed with the custom JSON response object.
+     */
+    public CompletableFuture<ResponseEntity<AbstractBaseJsonResponse<Document>>> createAsync(@NonNull String database, @NonNull String collection, @NonNull Document body, @NonNull String identifier, @NonNull HttpServletResponse response) {
+        // Create a Mongo Bson document and insert the request body contents
+        Document document = new Document("_id", identifier);
+        document.putAll(body);
+
+        // Handle different identifier scenarios
+        InvalidJsonDocumentActionResponse<Document> invalidResponse = this.validateCreatedDocument(document, identifier, response);
+        if (invalidResponse != null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(response.getStatus()).body(invalidResponse));
+        }
+
+        // Try to create the JSON document
+        return this.asyncRepository.createDocument(database, collection, document)
+                .thenApply(result -> this.deferredResponse(deferred -> this.createResultResponse(result, document, collection, identifier, deferred), response));
+    }
+
+    /**
+     * Non-blocking variant of {@link AbstractBaseMongoController#update(String, String, Document, Bson, HttpServletResponse)}.
+     * The request thread is released while the document is being updated.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to update the document in.
+     * @param body JSON body contents included in the HTTP request. This content includes the updates to perform to the document.
+     * @param filter Bson filter to find the target document to update.
+     * @param response HTTP response from the request.
+     * @return Future completed with the custom JSON response object.
+     */
+    public CompletableFuture<ResponseEntity<AbstractBaseJsonResponse<Document>>> updateAsync(@NonNull String database, @NonNull String collection, @NonNull Document body, @NonNull Bson filter, @NonNull HttpServletResponse response) {
+        // Validate the fields to update, the document identifier cannot be updated
+        try {
+            DocumentUpdates.validatePaths(body.keySet());
+        } catch (IllegalArgumentException exception) {
+            return CompletableFuture.completedFuture(this.deferredResponse(deferred -> new InvalidJsonDocumentActionResponse<>(exception.getMessage(), deferred), response));
+        }
+
+        // Try to update the JSON document
+        return this.asyncRepository.updateDocument(database, collection, filter, body)
+                .thenApply(outcome -> this.deferredResponse(deferred -> this.updateOutcomeResponse(outcome, collection, filter, deferred), response));
+    }
+
+    /**
+     * Non-blocking variant of {@link AbstractBaseMongoController#delete(String, String, Bson, HttpServletResponse)}.
+     * The request thread is released while the document is being deleted.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to delete the document in.
+     * @param filter Bson filter to find the target document to delete.
+     * @param response HTTP response from the request.
+     * @return Future completed with the custom JSON response object.
+     */
+    public CompletableFuture<ResponseEntity<AbstractBaseJsonResponse<Document>>> deleteAsync(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @NonNull HttpServletResponse response) {
+        return this.asyncRepository.deleteDocument(database, collection, filter)
+                .thenApply(outcome -> this.deferredResponse(deferred -> this.deleteOutcomeResponse(outcome, collection, filter, deferred), response));
+    }
+
+    /**
+     * Non-blocking variant of {@link AbstractBaseMongoController#get(String, String, Bson, List, WebRequest, HttpServletResponse)}.
+     * The request thread is released while the document is being retrieved. Conditional requests are not supported.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to get the document in.
+     * @param filter Bson filter to find the target document to retrieve.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full document.
+     * @param response HTTP response from the request.
+     * @return Future completed with the custom JSON response object.
+     */
+    public CompletableFuture<ResponseEntity<AbstractBaseJsonResponse<RawBsonDocument>>> getAsync(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @Nullable List<String> fields, @NonNull HttpServletResponse response) {
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        // Get the raw JSON document
+        return this.asyncRepository.getRawDocument(database, collection, filter, projection)
+                .thenApply(document -> this.deferredResponse(deferred -> this.documentResponse(document, database, collection, filter, deferred), response));
+    }
+
+    /**
+     * Non-blocking variant of {@link AbstractBaseMongoController#getAll(String, String, Integer, String, List, WebRequest, HttpServletResponse)}.
+     * The request thread is released while the page is being retrieved. Conditional requests are not supported.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to get the documents from.
+     * @param limit The maximum amount of documents in the page, or null to use the default limit (or to get all documents without a cursor). Capped at the maximum limit.
+     * @param after The cursor returned with the previous page, or null to get the first page.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full documents.
+     * @param response HTTP response from the request.
+     * @return Future completed with the custom JSON response object.
+     */
+    public CompletableFuture<ResponseEntity<AbstractBaseJsonResponse<List<RawBsonDocument>>>> getAllAsync(@NonNull String database, @NonNull String collection, @Nullable Integer limit, @Nullable String after, @Nullable List<String> fields, @NonNull HttpServletResponse response) {
+        // Resolve the page size and the cursor of the previous page
+        int pageLimit = this.resolvePageLimit(limit, after);
+        if (pageLimit < 0) {
+            return CompletableFuture.completedFuture(this.deferredResponse(this::invalidPageLimitResponse, response));
+        }
+        BsonValue afterIdentifier = this.decodeCursor(after);
+
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        // Get the page of raw JSON documents
+        return this.asyncRepository.getRawDocumentList(database, collection, afterIdentifier, pageLimit, projection)
+                .thenApply(list -> this.deferredResponse(deferred -> this.pageResponse(list, pageLimit, database, collection, deferred), response));
+    }
+
+    /**
+     * Handle request bodies that could not be read, e.g. because they are not valid JSON
+     * or exceed the size or nesting depth limits of a JSON document.
+     *
+     * @param exception The exception describing why the body could not be read.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public AbstractBaseJsonResponse<Document> handleUnreadableBody(@NonNull HttpMessageNotReadableException exception, @NonNull HttpServletResponse response) {
+        Throwable cause = exception.getMostSpecificCause();
+        String message = cause instanceof JsonProcessingException processingException ? processingException.getOriginalMessage() : "The request body could not be read.";
+        return new InvalidJsonDocumentActionResponse<>(message, response);
+    }
+
+    /**
+     * Handle request parameters that could not be parsed, e.g. an invalid page cursor or field projection.
+     *
+     * @param exception The exception describing why the parameter is invalid.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public AbstractBaseJsonResponse<Document> handleInvalidParameter(@NonNull InvalidRequestParameterException exception, @NonNull HttpServletResponse response) {
+        return new InvalidJsonDocumentActionResponse<>(exception.getMessage(), response);
+    }
+
+    /**
+     * Handle operations rejected because the circuit breaker of the Mongo instance is open,
+     * telling the client when the instance is probed again.
+     *
+     * @param exception The exception describing which instance is unavailable.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    @ExceptionHandler(MongoCircuitOpenException.class)
+    public AbstractBaseJsonResponse<Document> handleCircuitOpen(@NonNull MongoCircuitOpenException exception, @NonNull HttpServletResponse response) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(exception.getRetryAfterMillis() + 999));
+        return new ServiceUnavailableResponse<>(exception.getMessage(), retryAfterSeconds, response);
+    }
+
+    /**
+     * Handle operations rejected because the bulkhead of the Mongo instance has no room left.
+     *
+     * @param exception The exception describing which instance is saturated.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    @ExceptionHandler(MongoBulkheadFullException.class)
+    public AbstractBaseJsonResponse<Document> handleBulkheadFull(@NonNull MongoBulkheadFullException exception, @NonNull HttpServletResponse response) {
+        return new ServiceUnavailableResponse<>(exception.getMessage(), 1, response);
+    }
+
+    /**
+     * Handle requests to a server registry that is still loading its collection.
+     *
+     * @param exception The exception describing which registry is not loaded.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    @ExceptionHandler(ServerRegistryNotLoadedException.class)
+    public AbstractBaseJsonResponse<Document> handleServerRegistryNotLoaded(@NonNull ServerRegistryNotLoadedException exception, @NonNull HttpServletResponse response) {
+        return new ServiceUnavailableResponse<>(exception.getMessage(), 1, response);
+    }
+
+    /**
+     * Handle requests cancelled because their deadline passed, either before an operation
+     * was started or because Mongo hit the time limit of the operation.
+     *
+     * @param exception The exception describing the cancelled operation.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    @ExceptionHandler({RequestDeadlineExceededException.class, MongoExecutionTimeoutException.class})
+    public AbstractBaseJsonResponse<Document> handleDeadlineExceeded(@NonNull RuntimeException exception, @NonNull HttpServletResponse response) {
+        return new DeadlineExceededResponse<>(response);
+    }
+
+    /**
+     * Resolve the page size of a paginated request. Requests without both a limit and a cursor are
+     * not paginated, so clients that do not know about pagination still get every document.
+     *
+     * @param limit The limit provided in the request, or null if none was provided.
+     * @param after The cursor provided in the request, or null if none was provided.
+     * @return The page size capped at the maximum limit, 0 if the request is not paginated, or a negative value if the limit is invalid.
+     */
+    private int resolvePageLimit(@Nullable Integer limit, @Nullable String after) {
+        if (limit == null) {
+            return after == null ? 0 : Math.min(this.configuration.getDefaultPageLimit(), this.configuration.getMaxPageLimit());
+        } else if (limit <= 0) {
+            return -1;
+        }
+
+        return Math.min(limit, this.configuration.getMaxPageLimit());
+    }
+
+    /**
+     * Parse the field projection of a request.
+     *
+     * @param fields The fields to include, or to exclude if prefixed with '-', as provided in the request. Null for no projection.
+     * @return The parsed projection, or null if there is no projection.
+     * @throws InvalidRequestParameterException If the fields do not make up a valid projection.
+     */
+    private @Nullable DocumentProjection parseProjection(@Nullable List<String> fields) {
+        try {
+            return DocumentProjection.parse(fields);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidRequestParameterException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Decode the cursor of a paginated request.
+     *
+     * @param after The cursor provided in the request, or null if none was provided.
+     * @return The '_id' value the page continues after, or null to get the first page.
+     * @throws InvalidRequestParameterException If the cursor is not valid.
+     */
+    private @Nullable BsonValue decodeCursor(@Nullable String after) {
+        try {
+            return PageCursor.decode(after);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidRequestParameterException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Error response used for when the page limit of a paginated request is invalid.
+     *
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    private <T> InvalidJsonDocumentActionResponse<T> invalidPageLimitResponse(@NonNull HttpServletResponse response) {
+        return new InvalidJsonDocumentActionResponse<>("The limit must be greater than 0.", response);
+    }
+
+    /**
+     * Validate the identifier of a document that is about to be created.
+     *
+     * @param document The document to create, including its '_id' value.
+     * @param identifier The identifier provided in the request.
+     * @param response HTTP response from the request.
+     * @return Custom JSON error response object, or null if the identifier is valid.
+     */
+    private @Nullable InvalidJsonDocumentActionResponse<Document> validateCreatedDocument(@NonNull Document document, @NonNull String identifier, @NonNull HttpServletResponse response) {
+        if (identifier.equals("")) {
+            return new InvalidJsonDocumentActionResponse<>("The identifier is empty.", response);
+        } else if (!document.containsKey("_id")) {
+            return new InvalidJsonDocumentActionResponse<>("No '_id' field could be found in the JSON document.", response);
+        } else if (!document.getString("_id").equals(identifier)) {
+            return new InvalidJsonDocumentActionResponse<>("The '_id' field in the JSON document is not equal to the provided 'identifier' request parameter.", response);
+        }
+
+        return null;
+    }
+
+    /**
+     * Turn the result of a creation into a response.
+     *
+     * @param result Enum result of the creation.
+     * @param document The document that was created.
+     * @param collection Name/identifier of the collection the document was created in.
+     * @param identifier The identifier of the document.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    private AbstractBaseJsonResponse<Document> createResultResponse(@NonNull JsonDocumentActionResult result, @NonNull Document document, @NonNull String collection, @NonNull String identifier, @NonNull HttpServletResponse response) {
+        // Validate the result
+        if (result == JsonDocumentActionResult.NO_COLLECTION) {
+            return this.collectionDoesNotExistResponse(collection, response);
+        } else if (result == JsonDocumentActionResult.ALREADY_EXISTS) {
+            return this.documentWithIdentifierAlreadyExistResponse(identifier, response);
+        }
+
+        // The creation result was successful, return successful POST response
+        return new PostRequestJsonResponse<>(document, response);
+    }
+
+    /**
+     * Turn the outcome of an update into a response.
+     *
+     * @param outcome Outcome of the update.
+     * @param collection Name/identifier of the collection the document was updated in.
+     * @param filter Bson filter used to find the target document.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    private AbstractBaseJsonResponse<Document> updateOutcomeResponse(@NonNull JsonDocumentActionOutcome outcome, @NonNull String collection, @NonNull Bson filter, @NonNull HttpServletResponse response) {
+        // Validate the result
+        if (outcome.result() == JsonDocumentActionResult.NO_COLLECTION) {
+            return this.collectionDoesNotExistResponse(collection, response);
+        } else if (outcome.result() == JsonDocumentActionResult.NO_EXIST) {
+            return this.documentWithIdentifierDoesNotExistResponse(filter, response);
+        } else if (outcome.result() == JsonDocumentActionResult.FAILED) {
+            return new InvalidJsonDocumentActionResponse<>("The update could not be applied to the document with identification '" + filter + "'.", response);
+        }
+
+        // Update was a success, return successful PUT response with the updated document
+        assert outcome.document() != null;
+        return new PutRequestJsonResponse<>(outcome.document(), response);
+    }
+
+    /**
+     * Turn the outcome of a deletion into a response.
+     *
+     * @param outcome Outcome of the deletion.
+     * @param collection Name/identifier of the collection the document was deleted in.
+     * @param filter Bson filter used to find the target document.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    private AbstractBaseJsonResponse<Document> deleteOutcomeResponse(@NonNull JsonDocumentActionOutcome outcome, @NonNull String collection, @NonNull Bson filter, @NonNull HttpServletResponse response) {
+        // Validate the result
+        if (outcome.result() == JsonDocumentActionResult.NO_COLLECTION) {
+            return this.collectionDoesNotExistResponse(collection, response);
+        } else if (outcome.result() == JsonDocumentActionResult.NO_EXIST) {
+            return this.documentWithIdentifierDoesNotExistResponse(filter, response);
+        }
+
+        // The deletion result was successful, return successful DELETE response with the deleted document
+        assert outcome.document() != null;
+        return new DeleteRequestJsonResponse<>(outcome.document(), response);
+    }
+
+    /**
+     * Turn a retrieved document into a response.
+     *
+     * @param document The retrieved document, or null if it does not exist.
+     * @param database Name/identifier of the database the document was retrieved from.
+     * @param collection Name/identifier of the collection the document was retrieved from.
+     * @param filter Bson filter used to find the target document.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    private <T> AbstractBaseJsonResponse<T> documentResponse(@Nullable T document, @NonNull String database, @NonNull String collection, @NonNull Bson filter, @NonNull HttpServletResponse response) {
+        // The document does not exist
+        if (document == null) {
+            // Filters of a single document match its '_id' value
+            BsonValue identifier = filter.toBsonDocument().values().iterator().next();
+            return new DataNotFoundResponse<>(collection, describeIdentifier(identifier), response);
+        }
+
+        // The request was successful, return successful GET response
+        FetchedFrom fetchedFrom = new FetchedFrom(database, collection);
+        return new GetRequestJsonResponse<>(document, fetchedFrom, response);
+    }
+
+    /**
+     * Build a response object without setting its status on the HTTP response, so it can be built on the threads of the Mongo driver.
+     *
+     * @param builder Function building the response object, given the response to set its status on.
+     * @param response HTTP response from the request.
+     * @return Response entity with the response object, its status is set once the request is dispatched back to the container.
+     */
+    private <T> @NonNull ResponseEntity<AbstractBaseJsonResponse<T>> deferredResponse(@NonNull Function<HttpServletResponse, AbstractBaseJsonResponse<T>> builder, @NonNull HttpServletResponse response) {
+        DeferredStatusResponse deferred = new DeferredStatusResponse(response);
+        return deferred.toResponseEntity(builder.apply(deferred));
+    }
+
+    /**
+     * Turn a retrieved page of documents into a response.
+     *
+     * @param list The documents in the page, or null if the collection does not exist.
+     * @param pageLimit The page size the page was retrieved with, 0 if the documents were not paginated.
+     * @param database Name/identifier of the database the page was retrieved from.
+     * @param collection Name/identifier of the collection the page was retrieved from.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object.
+     */
+    private AbstractBaseJsonResponse<List<RawBsonDocument>> pageResponse(@Nullable List<RawBsonDocument> list, int pageLimit, @NonNull String database, @NonNull String collection, @NonNull HttpServletResponse response) {
         // The list does not exist
         if (list == null) {
             return new DataNotFoundResponse<>(collection, response);
         }
 
+        // A full page means there might be more documents after the last one
+        String nextCursor = null;
+        if (pageLimit > 0 && list.size() == pageLimit) {
+            nextCursor = PageCursor.encode(list.get(list.size() - 1).get("_id"));
+        }
+
         // The request was successful, return successful GET response
         FetchedFrom fetchedFrom = new FetchedFrom(database, collection);
-        return new GetRequestJsonResponse<>(list, fetchedFrom, response);
+        return new PaginatedGetRequestJsonResponse<>(list, fetchedFrom, nextCursor, response);
+    }
+
+    /**
+     * Decode a raw document, applying a field projection to it in memory.
+     *
+     * @param document The raw document to decode.
+     * @param projection Projection of the fields to keep, or null to keep the full document.
+     * @return The decoded and projected document.
+     */
+    private @NonNull Document decode(@NonNull RawBsonDocument document, @Nullable DocumentProjection projection) {
+        Document decoded = document.decode(DOCUMENT_CODEC);
+        return projection == null ? decoded : projection.apply(decoded);
+    }
+
+    /**
+     * Turn a document retrieved from a server registry into a response, answering conditional requests.
+     *
+     * @param registry The registry the document was retrieved from.
+     * @param registered The retrieved document, or null if it does not exist.
+     * @param key The field the document was looked up by, used in the response if it does not exist.
+     * @param fields The fields to include, or to exclude if prefixed with '-'. Null to retrieve the full document.
+     * @param request HTTP request, used to check the conditional request headers.
+     * @param response HTTP response from the request.
+     * @return Custom JSON response object, or null if the document was not modified.
+     */
+    private @Nullable AbstractBaseJsonResponse<RawBsonDocument> registeredDocumentResponse(@NonNull ServerRegistry registry, @Nullable CachedDocument registered, @NonNull String key, @Nullable List<String> fields, @NonNull WebRequest request, @NonNull HttpServletResponse response) {
+        // Parse the requested field projection
+        DocumentProjection projection = this.parseProjection(fields);
+
+        // The document does not exist
+        if (registered == null) {
+            return new DataNotFoundResponse<>(registry.getCollection(), key, response);
+        }
+
+        // Only projected documents have to be hashed again
+        RawBsonDocument document = this.project(registered.document(), projection);
+        String digest = projection == null ? registered.digest() : DocumentDigest.of(document);
+        if (request.checkNotModified(digest)) {
+            return null;
+        }
+
+        // The request was successful, return successful GET response
+        FetchedFrom fetchedFrom = new FetchedFrom(registry.getDatabase(), registry.getCollection());
+        return new GetRequestJsonResponse<>(document, fetchedFrom, response);
+    }
+
+    /**
+     * Describe an '_id' value for a response, strings as they are and object ids by their hex form.
+     *
+     * @param identifier The '_id' value to describe.
+     * @return The readable form of the value.
+     */
+    private static @NonNull String describeIdentifier(@NonNull BsonValue identifier) {
+        if (identifier.isString()) {
+            return identifier.asString().getValue();
+        }
+
+        if (identifier.isObjectId()) {
+            return identifier.asObjectId().getValue().toHexString();
+        }
+
+        return identifier.toString();
+    }
+
+    /**
+     * Write a raw document as a single line of relaxed JSON.
+     *
+     * @param writer The writer to write the line to.
+     * @param document The raw document to write.
+     * @throws IOException If writing fails.
+     */
+    private void writeJsonLine(@NonNull Writer writer, @NonNull RawBsonDocument document) throws IOException {
+        try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+            new JsonWriter(writer, STREAM_JSON_SETTINGS).pipe(reader);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Apply a field projection to a raw document, keeping it in its raw form.
+     *
+     * @param document The raw document to project.
+     * @param projection Projection of the fields to keep, or null to keep the full document.
+     * @return The projected raw document, or the document itself if there is no projection.
+     */
+    private @NonNull RawBsonDocument project(@NonNull RawBsonDocument document, @Nullable DocumentProjection projection) {
+        if (projection == null) {
+            return document;
+        }
+
+        return new RawBsonDocument(this.decode(document, projection), DOCUMENT_CODEC);
     }
 
     /**
@@ -199,7 +1262,7 @@ public abstract class AbstractBaseMongoController extends MongoRepository {
      * @param response HTTP response from the request.
      * @return Custom JSON response object.
      */
-    private InvalidJsonDocumentActionResponse<Document> collectionDoesNotExistResponse(@NonNull String collection, @NonNull HttpServletResponse response) {
+    private <T> InvalidJsonDocumentActionResponse<T> collectionDoesNotExistResponse(@NonNull String collection, @NonNull HttpServletResponse response) {
         return new InvalidJsonDocumentActionResponse<>("The collection '" + collection + "' does not exist.", response);
     }
 
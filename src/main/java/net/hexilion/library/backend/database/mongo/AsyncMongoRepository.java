@@ -0,0 +1,230 @@
+package net.hexilion.library.backend.database.mongo;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import net.hexilion.library.backend.database.mongo.enums.JsonDocumentActionResult;
+import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import net.hexilion.library.backend.request.RequestDeadline;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.reactivestreams.Publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking counterpart of {@link MongoRepository}, built on the reactive streams driver.
+ * <p>
+ * Operations return immediately and complete their futures on the driver's threads once the
+ * server replies, so no thread is held while a request is in flight. Stages added to the
+ * returned futures must therefore not block.
+ */
+public class AsyncMongoRepository {
+
+    private static final @NonNull String DOCUMENT_IDENTIFIER = "_id";
+
+    public final @NonNull MongoInstanceType type;
+    private final @NonNull MongoInstance instance;
+
+    public AsyncMongoRepository(@NonNull MongoInstanceType type, @NonNull MongoDataManager dataManager) {
+        this.type = type;
+        this.instance = dataManager.getInstanceByType(type);
+    }
+
+    /**
+     * "Create" a new document by inserting a JSON document into a Mongo repository.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to create the document in.
+     * @param document The actual document to insert into the collection.
+     * @return Future completed with the enum result of the creating.
+     * @see MongoRepository#createDocument(String, String, String, Document)
+     */
+    public @NonNull CompletableFuture<JsonDocumentActionResult> createDocument(@NonNull String database, @NonNull String collection, @NonNull Document document) {
+        return this.instance.executeAsync(() -> {
+            // Inserts have no server-side time limit, only make sure the deadline has not passed yet
+            RequestDeadline.ensureNotExpired();
+
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getReactiveCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return CompletableFuture.completedFuture(JsonDocumentActionResult.NO_COLLECTION);
+            }
+
+            // Insert the new document, the unique '_id' index rejects duplicates server-side
+            return PublisherFutures.first(foundCollection.insertOne(document))
+                    .thenApply(result -> JsonDocumentActionResult.SUCCESS)
+                    .exceptionally(throwable -> {
+                        Throwable cause = PublisherFutures.unwrap(throwable);
+                        if (cause instanceof MongoWriteException exception && exception.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                            return JsonDocumentActionResult.ALREADY_EXISTS;
+                        }
+
+                        throw new CompletionException(cause);
+                    });
+        });
+    }
+
+    /**
+     * Update the contents in a JSON document using '$set' and '$unset'.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to update the document in.
+     * @param filter Bson filter used to find the target document to update.
+     * @param updateContent Map containing the dot paths and their values to update. Fields with a null value are removed.
+     * @return Future completed with the outcome of the updating, carrying the document as it looks after the update.
+     * @see MongoRepository#updateDocument(String, String, Bson, Map)
+     */
+    public @NonNull CompletableFuture<JsonDocumentActionOutcome> updateDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @NonNull Map<String, Object> updateContent) {
+        return this.findAndUpdateDocument(database, collection, filter, DocumentUpdates.toSetUpdate(updateContent));
+    }
+
+    private @NonNull CompletableFuture<JsonDocumentActionOutcome> findAndUpdateDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @Nullable Bson update) {
+        return this.instance.executeAsync(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getReactiveCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return CompletableFuture.completedFuture(JsonDocumentActionOutcome.of(JsonDocumentActionResult.NO_COLLECTION));
+            }
+
+            // Empty updates are rejected by the server, there is nothing to update so just look the document up
+            Publisher<Document> publisher;
+            if (update == null) {
+                publisher = foundCollection.find(filter).maxTime(maxTimeMillis, TimeUnit.MILLISECONDS).first();
+            } else {
+                FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER).maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+                publisher = foundCollection.findOneAndUpdate(filter, update, options);
+            }
+
+            return PublisherFutures.first(publisher)
+                    .thenApply(AsyncMongoRepository::outcomeOf)
+                    .exceptionally(throwable -> {
+                        // The update does not apply to the document, e.g. incrementing a field that is not numeric
+                        Throwable cause = PublisherFutures.unwrap(throwable);
+                        if (cause instanceof MongoCommandException exception && DocumentUpdates.isRejectedUpdate(exception)) {
+                            return JsonDocumentActionOutcome.of(JsonDocumentActionResult.FAILED);
+                        }
+
+                        throw new CompletionException(cause);
+                    });
+        });
+    }
+
+    /**
+     * Permanently delete a document in a single atomic find-one-and-delete operation.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to delete the document in.
+     * @param filter Bson filter used to find the target document to delete.
+     * @return Future completed with the outcome of the deleting, carrying the document that was deleted.
+     * @see MongoRepository#deleteDocument(String, String, Bson)
+     */
+    public @NonNull CompletableFuture<JsonDocumentActionOutcome> deleteDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter) {
+        return this.instance.executeAsync(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getReactiveCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return CompletableFuture.completedFuture(JsonDocumentActionOutcome.of(JsonDocumentActionResult.NO_COLLECTION));
+            }
+
+            // Delete the document and get it back in the same round trip
+            return PublisherFutures.first(foundCollection.findOneAndDelete(filter, new FindOneAndDeleteOptions().maxTime(maxTimeMillis, TimeUnit.MILLISECONDS))).thenApply(AsyncMongoRepository::outcomeOf);
+        });
+    }
+
+    /**
+     * Get a Mongo document from the target database and collection in its raw BSON form.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to get the document from.
+     * @param filter Bson filter used to find the target document to query.
+     * @param projection Projection of the fields to return, or null to return the full document.
+     * @return Future completed with the raw BSON document, or with null if it does not exist.
+     * @see MongoRepository#getRawDocument(String, String, Bson, DocumentProjection)
+     */
+    public @NonNull CompletableFuture<@Nullable RawBsonDocument> getRawDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @Nullable DocumentProjection projection) {
+        return this.instance.executeAsync(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getReactiveCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            // Return the document based on the filter, unneeded fields are never sent by the server
+            return PublisherFutures.first(foundCollection.withDocumentClass(RawBsonDocument.class)
+                    .find(filter)
+                    .projection(projection == null ? null : projection.toBson())
+                    .maxTime(maxTimeMillis, TimeUnit.MILLISECONDS)
+                    .first());
+        });
+    }
+
+    /**
+     * Get a page of documents within the target database and collection in their raw BSON form, ordered by the '_id' value.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to get the documents from.
+     * @param after The '_id' value of the last document in the previous page, or null to get the first page.
+     * @param limit The maximum amount of documents to include in the page, or 0 to include all documents.
+     * @param projection Projection of the fields to return, or null to return the full documents.
+     * @return Future completed with the raw BSON documents in the page, or with null if the collection does not exist.
+     * @see MongoRepository#getRawDocumentList(String, String, BsonValue, int, DocumentProjection)
+     */
+    public @NonNull CompletableFuture<@Nullable List<RawBsonDocument>> getRawDocumentList(@NonNull String database, @NonNull String collection, @Nullable BsonValue after, int limit, @Nullable DocumentProjection projection) {
+        return this.instance.executeAsync(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getReactiveCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            // Continue after the cursor, the '_id' index serves both the filter and the sort
+            Bson filter = after == null ? Filters.empty() : Filters.gt(DOCUMENT_IDENTIFIER, after);
+            return PublisherFutures.collect(foundCollection.withDocumentClass(RawBsonDocument.class)
+                    .find(filter)
+                    .projection(projection == null ? null : projection.toBson())
+                    .maxTime(maxTimeMillis, TimeUnit.MILLISECONDS)
+                    .sort(Sorts.ascending(DOCUMENT_IDENTIFIER))
+                    .limit(limit), new ArrayList<>(limit));
+        });
+    }
+
+    private static @NonNull JsonDocumentActionOutcome outcomeOf(@Nullable Document document) {
+        // No document matched the filter
+        if (document == null) {
+            return JsonDocumentActionOutcome.of(JsonDocumentActionResult.NO_EXIST);
+        }
+
+        return JsonDocumentActionOutcome.success(document);
+    }
+
+    /**
+     * @return The Mongo instance (also known as client) type of this Mongo repository.
+     */
+    public @NonNull MongoInstanceType getType() {
+        return this.type;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package net.hexilion.library.backend.database.mongo;
+
+import net.hexilion.library.backend.database.mongo.enums.BulkDocumentAction;
+import org.bson.Document;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Represents a single operation on a JSON document as part of a bulk write.
+ *
+ * @param action The action to perform on the document.
+ * @param documentId The identifier '_id' value of the target document.
+ * @param document The document to insert for creations, or the fields to update for updates. Null for deletions.
+ */
+public record BulkDocumentOperation(@NonNull BulkDocumentAction action, @NonNull String documentId, @Nullable Document document) { }
\ No newline at end of file
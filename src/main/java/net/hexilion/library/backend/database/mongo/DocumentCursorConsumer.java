@@ -0,0 +1,22 @@
+package net.hexilion.library.backend.database.mongo;
+
+import org.bson.RawBsonDocument;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Consumer of the raw BSON documents of an open cursor, e.g. writing them to a response.
+ */
+@FunctionalInterface
+public interface DocumentCursorConsumer {
+
+    /**
+     * Consume the documents of the cursor. The cursor is closed once this returns.
+     *
+     * @param documents The documents of the cursor, fetched batch by batch while iterating.
+     * @throws IOException If writing the documents fails.
+     */
+    void accept(@NonNull Iterator<RawBsonDocument> documents) throws IOException;
+}
\ No newline at end of file
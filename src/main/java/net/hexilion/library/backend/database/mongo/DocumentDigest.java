@@ -0,0 +1,59 @@
+package net.hexilion.library.backend.database.mongo;
+
+import org.bson.RawBsonDocument;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Computes content hashes of raw documents, used as strong entity tags in responses.
+ * <p>
+ * The hash is taken over the BSON bytes of a document, so it changes whenever any field,
+ * type or field order of the document changes. It is not meant to be collision resistant
+ * against crafted documents, only to detect changes cheaply.
+ */
+public final class DocumentDigest {
+
+    private static final @NonNull String ALGORITHM = "MD5";
+    private static final @NonNull HexFormat HEX_FORMAT = HexFormat.of();
+
+    private DocumentDigest() { }
+
+    /**
+     * @param document The raw document to hash.
+     * @return Hexadecimal content hash of the document.
+     */
+    public static @NonNull String of(@NonNull RawBsonDocument document) {
+        MessageDigest digest = newDigest();
+        digest.update(document.getByteBuffer().asNIO());
+        return HEX_FORMAT.formatHex(digest.digest());
+    }
+
+    /**
+     * Combine the content hashes of multiple documents, e.g. a page, into a single hash.
+     *
+     * @param digests The content hashes of the documents, in order.
+     * @return Hexadecimal content hash of all documents together.
+     */
+    public static @NonNull String combine(@NonNull List<String> digests) {
+        MessageDigest digest = newDigest();
+        for (String documentDigest : digests) {
+            digest.update(documentDigest.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        return HEX_FORMAT.formatHex(digest.digest());
+    }
+
+    private static @NonNull MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            // Every Java platform is required to support MD5
+            throw new IllegalStateException(exception);
+        }
+    }
+}
\ No newline at end of file
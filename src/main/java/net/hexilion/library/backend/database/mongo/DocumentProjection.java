@@ -0,0 +1,130 @@
+package net.hexilion.library.backend.database.mongo;
+
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a field projection limiting which fields of a document are returned.
+ * <p>
+ * A projection either includes or excludes fields, field names prefixed with '-'
+ * are excluded. Nested fields are addressed with dot paths. The '_id' field is
+ * always returned, since it identifies the document in responses and cursors.
+ */
+public class DocumentProjection {
+
+    private static final @NonNull String EXCLUDE_PREFIX = "-";
+    private static final @NonNull String DOCUMENT_IDENTIFIER = "_id";
+
+    private final @NonNull List<String> fields;
+    private final boolean exclusion;
+
+    private DocumentProjection(@NonNull List<String> fields, boolean exclusion) {
+        this.fields = fields;
+        this.exclusion = exclusion;
+    }
+
+    /**
+     * Parse the fields of a projection, as provided in a request.
+     *
+     * @param fields The field names to include, or to exclude if prefixed with '-'. Null or empty for no projection.
+     * @return The parsed projection, or null if there is no projection.
+     * @throws IllegalArgumentException If the fields do not make up a valid projection.
+     */
+    public static @Nullable DocumentProjection parse(@Nullable List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+
+        List<String> paths = new ArrayList<>(fields.size());
+        Boolean exclusion = null;
+        for (String field : fields) {
+            boolean excluded = field.startsWith(EXCLUDE_PREFIX);
+            String path = excluded ? field.substring(EXCLUDE_PREFIX.length()) : field;
+
+            // Validate the field path
+            if (path.isBlank() || path.startsWith("$") || path.startsWith(".") || path.endsWith(".") || path.contains("..")) {
+                throw new IllegalArgumentException("The field '" + field + "' is not a valid field path.");
+            } else if (path.equals(DOCUMENT_IDENTIFIER)) {
+                throw new IllegalArgumentException("The identifier ('_id') field is always included and cannot be projected.");
+            } else if (exclusion != null && exclusion != excluded) {
+                throw new IllegalArgumentException("Fields cannot be both included and excluded in the same request.");
+            }
+
+            exclusion = excluded;
+            paths.add(path);
+        }
+
+        return new DocumentProjection(paths, exclusion);
+    }
+
+    /**
+     * @return The projection as a Bson projection document, used to project server-side.
+     */
+    public @NonNull Bson toBson() {
+        return this.exclusion ? Projections.exclude(this.fields) : Projections.include(this.fields);
+    }
+
+    /**
+     * Apply the projection to a document in memory.
+     *
+     * @param document The document to project. Fields are removed from it directly for exclusion projections.
+     * @return The projected document.
+     */
+    public @NonNull Document apply(@NonNull Document document) {
+        if (this.exclusion) {
+            for (String path : this.fields) {
+                removePath(document, path);
+            }
+
+            return document;
+        }
+
+        Document projected = new Document(DOCUMENT_IDENTIFIER, document.get(DOCUMENT_IDENTIFIER));
+        for (String path : this.fields) {
+            copyPath(document, projected, path);
+        }
+
+        return projected;
+    }
+
+    private static void removePath(@NonNull Document document, @NonNull String path) {
+        int separator = path.indexOf('.');
+        if (separator < 0) {
+            document.remove(path);
+            return;
+        }
+
+        if (document.get(path.substring(0, separator)) instanceof Document child) {
+            removePath(child, path.substring(separator + 1));
+        }
+    }
+
+    private static void copyPath(@NonNull Document source, @NonNull Document target, @NonNull String path) {
+        int separator = path.indexOf('.');
+        if (separator < 0) {
+            if (source.containsKey(path)) {
+                target.put(path, source.get(path));
+            }
+
+            return;
+        }
+
+        String key = path.substring(0, separator);
+        if (!(source.get(key) instanceof Document sourceChild)) {
+            return;
+        }
+
+        // Create the nested target document on demand
+        Document targetChild = target.get(key) instanceof Document existing ? existing : new Document();
+        copyPath(sourceChild, targetChild, path.substring(separator + 1));
+        if (!targetChild.isEmpty()) {
+            target.put(key, targetChild);
+        }
+    }
+}
\ No newline at end of file
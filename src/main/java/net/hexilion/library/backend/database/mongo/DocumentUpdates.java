@@ -0,0 +1,152 @@
+package net.hexilion.library.backend.database.mongo;
+
+import com.mongodb.MongoCommandException;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility for turning the contents of update requests into field-level Mongo update operators.
+ * <p>
+ * Fields are addressed with dot paths, so nested fields can be updated without
+ * rewriting their parent document. Only the addressed fields are written, which
+ * means concurrent updates to different fields of the same document do not
+ * overwrite each other.
+ */
+public final class DocumentUpdates {
+
+    private static final @NonNull String DOCUMENT_IDENTIFIER = "_id";
+
+    // BadValue, FailedToParse, TypeMismatch, PathNotViable, ConflictingUpdateOperators, DollarPrefixedFieldName and ImmutableField
+    private static final @NonNull Set<Integer> REJECTED_UPDATE_CODES = Set.of(2, 9, 14, 28, 40, 52, 66);
+
+    private DocumentUpdates() { }
+
+    /**
+     * Whether a command failed because the update does not apply to the document, e.g. incrementing a field
+     * that is not numeric. Other command failures, e.g. a failover, are not caused by the update itself.
+     *
+     * @param exception The exception the update command failed with.
+     * @return Whether the update was rejected because of its contents.
+     */
+    public static boolean isRejectedUpdate(@NonNull MongoCommandException exception) {
+        return REJECTED_UPDATE_CODES.contains(exception.getErrorCode());
+    }
+
+    /**
+     * Validate the field paths of an update.
+     *
+     * @param paths The dot paths of the fields to update.
+     * @throws IllegalArgumentException If a path is invalid, targets the identifier or conflicts with another path.
+     */
+    public static void validatePaths(@NonNull Collection<String> paths) {
+        List<String> validated = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            if (path.isEmpty() || path.startsWith(".") || path.endsWith(".") || path.contains("..") || path.contains("$")) {
+                throw new IllegalArgumentException("The field '" + path + "' is not a valid field path.");
+            } else if (path.equals(DOCUMENT_IDENTIFIER) || path.startsWith(DOCUMENT_IDENTIFIER + ".")) {
+                throw new IllegalArgumentException("You cannot modify the identifier ('_id') value.");
+            }
+
+            // A path cannot be updated together with its parent or its children
+            for (String other : validated) {
+                if (path.startsWith(other + ".") || other.startsWith(path + ".")) {
+                    throw new IllegalArgumentException("The fields '" + other + "' and '" + path + "' conflict with each other.");
+                }
+            }
+
+            validated.add(path);
+        }
+    }
+
+    /**
+     * Create a '$set'/'$unset' update from the contents of an update request.
+     *
+     * @param updateContent Map of dot paths to their new values. Fields with a null value are removed.
+     * @return The update document, or null if there is nothing to update.
+     */
+    public static @Nullable Bson toSetUpdate(@NonNull Map<String, Object> updateContent) {
+        Document set = new Document();
+        Document unset = new Document();
+        for (Map.Entry<String, Object> entry : updateContent.entrySet()) {
+            if (entry.getValue() == null) {
+                unset.put(entry.getKey(), "");
+            } else {
+                set.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        // Empty operators are rejected by the server
+        Document update = new Document();
+        if (!set.isEmpty()) {
+            update.put("$set", set);
+        }
+        if (!unset.isEmpty()) {
+            update.put("$unset", unset);
+        }
+
+        return update.isEmpty() ? null : update;
+    }
+
+    /**
+     * Apply the contents of an update request to a document in memory, the same way '$set'/'$unset' would.
+     *
+     * @param document The document to update, the updates are applied to it in place.
+     * @param updateContent Map of dot paths to their new values. Fields with a null value are removed.
+     */
+    public static void applySet(@NonNull Document document, @NonNull Map<String, Object> updateContent) {
+        for (Map.Entry<String, Object> entry : updateContent.entrySet()) {
+            applyPath(document, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Create an '$inc' update from the contents of an increment request.
+     *
+     * @param increments Map of dot paths to the amount to increment them by. Negative amounts decrement.
+     * @return The update document, or null if there is nothing to increment.
+     */
+    public static @Nullable Bson toIncrementUpdate(@NonNull Map<String, Number> increments) {
+        if (increments.isEmpty()) {
+            return null;
+        }
+
+        Document increment = new Document();
+        increment.putAll(increments);
+        return new Document("$inc", increment);
+    }
+
+    private static void applyPath(@NonNull Document document, @NonNull String path, @Nullable Object value) {
+        int separator = path.indexOf('.');
+        if (separator < 0) {
+            if (value == null) {
+                document.remove(path);
+            } else {
+                document.put(path, value);
+            }
+
+            return;
+        }
+
+        // Create the nested document on demand, like '$set' does
+        String key = path.substring(0, separator);
+        Document child;
+        if (document.get(key) instanceof Document existing) {
+            child = existing;
+        } else if (value == null) {
+            return;
+        } else {
+            child = new Document();
+            document.put(key, child);
+        }
+
+        applyPath(child, path.substring(separator + 1), value);
+    }
+}
\ No newline at end of file
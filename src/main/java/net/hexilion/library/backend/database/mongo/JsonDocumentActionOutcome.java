@@ -0,0 +1,44 @@
+package net.hexilion.library.backend.database.mongo;
+
+import net.hexilion.library.backend.database.mongo.enums.JsonDocumentActionResult;
+import org.bson.Document;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Represents the outcome of an action performed on a JSON document, together with
+ * the document the database returned as part of the same operation.
+ *
+ * @param result Enum result of the action.
+ * @param document The document returned by the database. For updates this is the document after the update
+ *                 and for deletions it is the document that was deleted. Null if the action was not successful.
+ */
+public record JsonDocumentActionOutcome(@NonNull JsonDocumentActionResult result, @Nullable Document document) {
+
+    /**
+     * Create an unsuccessful outcome that does not carry a document.
+     *
+     * @param result Enum result of the action.
+     * @return The new outcome.
+     */
+    public static @NonNull JsonDocumentActionOutcome of(@NonNull JsonDocumentActionResult result) {
+        return new JsonDocumentActionOutcome(result, null);
+    }
+
+    /**
+     * Create a successful outcome carrying the document returned by the database.
+     *
+     * @param document The document returned by the database.
+     * @return The new outcome.
+     */
+    public static @NonNull JsonDocumentActionOutcome success(@NonNull Document document) {
+        return new JsonDocumentActionOutcome(JsonDocumentActionResult.SUCCESS, document);
+    }
+
+    /**
+     * @return Whether the action was successful.
+     */
+    public boolean isSuccess() {
+        return this.result == JsonDocumentActionResult.SUCCESS;
+    }
+}
\ No newline at end of file
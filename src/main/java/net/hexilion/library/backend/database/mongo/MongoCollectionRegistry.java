@@ -0,0 +1,133 @@
+package net.hexilion.library.backend.database.mongo;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Registry of the databases and collections that exist on a Mongo instance.
+ * <p>
+ * The driver creates databases and collections implicitly on the first write, so a typo in a
+ * request parameter would otherwise create a new collection. The registry lists the existing
+ * collections in the background and is refreshed on an interval, so lookups of unknown
+ * collections are rejected in memory. Until the first listing succeeds every collection is
+ * accepted, so an instance that cannot be listed keeps working as before.
+ * <p>
+ * Collections the application declares itself, e.g. through required indexes, are always known.
+ */
+public class MongoCollectionRegistry {
+
+    private static final @NonNull Set<String> SYSTEM_DATABASES = Set.of("admin", "local", "config");
+    private static final @NonNull String SYSTEM_COLLECTION_PREFIX = "system.";
+
+    private final @NonNull MongoClient client;
+    private final @NonNull String identifier;
+    private final @NonNull Logger log;
+    private final @NonNull Set<String> declared;
+    private final @NonNull ScheduledExecutorService executor;
+    private volatile @Nullable Set<String> known;
+
+    public MongoCollectionRegistry(@NonNull MongoClient client, @NonNull String identifier, @NonNull Logger log) {
+        this.client = client;
+        this.identifier = identifier;
+        this.log = log;
+        this.declared = ConcurrentHashMap.newKeySet();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mongo-collection-registry-" + identifier);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start listing the collections right away and then on an interval.
+     *
+     * @param refreshIntervalSeconds The interval between two listings, in seconds.
+     */
+    public void start(long refreshIntervalSeconds) {
+        this.executor.scheduleWithFixedDelay(this::refresh, 0, refreshIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop refreshing the registry.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * List the existing databases and collections and replace the known collections with them.
+     * The known collections are kept if listing fails.
+     */
+    public void refresh() {
+        Set<String> listed = new HashSet<>();
+        try {
+            for (String database : this.client.listDatabaseNames()) {
+                if (SYSTEM_DATABASES.contains(database)) {
+                    continue;
+                }
+
+                for (String collection : this.client.getDatabase(database).listCollectionNames()) {
+                    if (!collection.startsWith(SYSTEM_COLLECTION_PREFIX)) {
+                        listed.add(namespaceOf(database, collection));
+                    }
+                }
+            }
+        } catch (MongoException exception) {
+            this.log.warning("Could not list the collections of Mongo instance " + this.identifier + ": " + exception.getMessage());
+            return;
+        }
+
+        // Report the first load, later refreshes happen silently
+        if (this.known == null) {
+            this.log.info("Found " + listed.size() + " collections on Mongo instance " + this.identifier + ".");
+        }
+
+        this.known = Set.copyOf(listed);
+    }
+
+    /**
+     * Declare a collection that the application requires, it is known even if it does not exist yet.
+     *
+     * @param database Name/identifier of the database of the collection.
+     * @param collection Name/identifier of the collection.
+     */
+    public void declare(@NonNull String database, @NonNull String collection) {
+        this.declared.add(namespaceOf(database, collection));
+    }
+
+    /**
+     * @param database Name/identifier of the database of the collection.
+     * @param collection Name/identifier of the collection.
+     * @return Whether the collection exists, as of the last listing, or is declared by the application.
+     */
+    public boolean contains(@NonNull String database, @NonNull String collection) {
+        Set<String> known = this.known;
+        if (known == null) {
+            return true;
+        }
+
+        final String namespace = namespaceOf(database, collection);
+        return known.contains(namespace) || this.declared.contains(namespace);
+    }
+
+    /**
+     * @return Whether the collections have been listed at least once.
+     */
+    public boolean isLoaded() {
+        return this.known != null;
+    }
+
+    static @NonNull String namespaceOf(@NonNull String database, @NonNull String collection) {
+        return database + "." + collection;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package net.hexilion.library.backend.database.mongo;
 
+import net.hexilion.library.backend.database.mongo.cache.MongoSnapshotCache;
+import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,7 +10,7 @@ import org.springframework.core.env.Environment;
 import java.util.logging.Logger;
 
 /**
- * Enables Bean access for the Mongo data manager.
+ * Enables Bean access for the Mongo data manager and the caches built on top of it.
  */
 @Configuration
 public class MongoConfiguration {
@@ -21,6 +23,18 @@ public class MongoConfiguration {
         return new MongoDataManager(logger, this.environment);
     }
 
+    @Bean
+    public MongoSnapshotCache mongoSnapshotCache(MongoDataManager mongoDataManager, Logger logger) {
+        return new MongoSnapshotCache(
+                mongoDataManager.getInstanceByType(MongoInstanceType.MASTER),
+                logger,
+                this.environment.getProperty("cache.snapshot.enabled", Boolean.class, true),
+                this.environment.getProperty("cache.snapshot.max-bytes", Long.class, 64L * 1024 * 1024),
+                this.environment.getProperty("cache.snapshot.max-collections", Integer.class, 64),
+                this.environment.getProperty("cache.snapshot.poll-interval-seconds", Long.class, 30L)
+        );
+    }
+
     @Bean
     public Logger logger() {
         return Logger.getLogger("backend-service");
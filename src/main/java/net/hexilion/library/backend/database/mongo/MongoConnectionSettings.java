@@ -0,0 +1,45 @@
+package net.hexilion.library.backend.database.mongo;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.core.env.Environment;
+
+/**
+ * Represents the connection pool and timeout settings of a Mongo instance.
+ * A time of 0 milliseconds means there is no limit, except for the wait time which then fails immediately.
+ *
+ * @param poolMaxSize The maximum amount of connections in the pool.
+ * @param reactivePoolMaxSize The maximum amount of connections in the separate pool of the reactive client, on top of the pool size.
+ * @param poolMinSize The amount of connections the pool keeps open, even when they are idle.
+ * @param poolMaxWaitTimeMillis The maximum time a request waits in the queue for a connection to become available.
+ * @param poolMaxIdleTimeMillis The maximum time a connection can be idle before it is closed.
+ * @param poolMaxLifeTimeMillis The maximum time a connection can be open before it is closed.
+ * @param connectTimeoutMillis The maximum time to establish a new connection.
+ * @param readTimeoutMillis The maximum time to wait for the reply to an operation.
+ * @param serverSelectionTimeoutMillis The maximum time to wait for a suitable server to become available.
+ */
+public record MongoConnectionSettings(int poolMaxSize, int reactivePoolMaxSize, int poolMinSize, long poolMaxWaitTimeMillis,
+                                      long poolMaxIdleTimeMillis, long poolMaxLifeTimeMillis, long connectTimeoutMillis,
+                                      long readTimeoutMillis, long serverSelectionTimeoutMillis) {
+
+    /**
+     * Read the settings from the 'mongo.&lt;type&gt;.*' properties, falling back to the driver defaults.
+     *
+     * @param environment The environment to read the properties from.
+     * @param path The property path of the instance type, including the trailing dot.
+     * @return The connection settings.
+     */
+    public static @NonNull MongoConnectionSettings fromEnvironment(@NonNull Environment environment, @NonNull String path) {
+        int poolMaxSize = environment.getProperty(path + "pool.max-size", Integer.class, 100);
+        return new MongoConnectionSettings(
+                poolMaxSize,
+                environment.getProperty(path + "pool.reactive-max-size", Integer.class, poolMaxSize),
+                environment.getProperty(path + "pool.min-size", Integer.class, 0),
+                environment.getProperty(path + "pool.max-wait-time-ms", Long.class, 120000L),
+                environment.getProperty(path + "pool.max-idle-time-ms", Long.class, 0L),
+                environment.getProperty(path + "pool.max-life-time-ms", Long.class, 0L),
+                environment.getProperty(path + "socket.connect-timeout-ms", Long.class, 10000L),
+                environment.getProperty(path + "socket.read-timeout-ms", Long.class, 0L),
+                environment.getProperty(path + "server-selection-timeout-ms", Long.class, 30000L)
+        );
+    }
+}
\ No newline at end of file
@@ -1,14 +1,30 @@
 package net.hexilion.library.backend.database.mongo;
 
 import net.hexilion.library.backend.credentials.MongoCredentials;
+import net.hexilion.library.backend.database.mongo.breaker.MongoCircuitBreaker;
+import net.hexilion.library.backend.database.mongo.breaker.MongoCircuitBreakerSettings;
+import net.hexilion.library.backend.database.mongo.bulkhead.MongoBulkhead;
+import net.hexilion.library.backend.database.mongo.bulkhead.MongoBulkheadSettings;
 import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import net.hexilion.library.backend.database.mongo.index.MongoIndexDefinition;
+import net.hexilion.library.backend.database.mongo.index.MongoIndexProvisioner;
+import net.hexilion.library.backend.database.mongo.metrics.CommandMetrics;
+import net.hexilion.library.backend.database.mongo.registry.ServerRegistry;
 import net.hexilion.library.backend.exception.MongoInstanceException;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.core.env.Environment;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 /**
@@ -18,15 +34,29 @@ public class MongoDataManager {
 
     private final @NonNull Map<MongoInstanceType, MongoInstance> instances;
     private final @NonNull Environment environment;
+    private final @NonNull MongoIndexProvisioner indexProvisioner;
+    private final @NonNull Map<String, ServerRegistry> serverRegistries;
+    private final @NonNull Logger log;
+    private final @NonNull CompletableFuture<Void> warmUp;
 
     public MongoDataManager(@NonNull Logger log, @NonNull Environment environment) {
         // Initialize
         this.instances = new HashMap<>();
         this.environment = environment;
+        this.indexProvisioner = new MongoIndexProvisioner(log);
+        this.serverRegistries = new ConcurrentHashMap<>();
+        this.log = log;
+
+        // Load in all Mongo instances in parallel, they do not depend on each other
+        Map<MongoInstanceType, CompletableFuture<MongoInstance>> created = new EnumMap<>(MongoInstanceType.class);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MongoInstanceType type : MongoInstanceType.VALUES) {
+                created.put(type, CompletableFuture.supplyAsync(() -> this.createMongoInstance(type, log), executor));
+            }
+        }
 
-        // Load in all Mongo instances
         for (MongoInstanceType type : MongoInstanceType.VALUES) {
-            MongoInstance instance = this.createMongoInstance(type, log);
+            MongoInstance instance = created.get(type).join();
 
             // Something went wrong, instance is null
             if (instance == null) {
@@ -37,6 +67,9 @@ public class MongoDataManager {
             this.instances.putIfAbsent(type, instance);
         }
 
+        // Open the connections in the background, the service is ready once this finishes
+        this.warmUp = this.warmUpInstances(this.environment.getProperty("mongo.warm-up.timeout-ms", Long.class, 10000L));
+
         // Complete
         int size = this.instances.size();
         if (size == 0) {
@@ -47,6 +80,20 @@ public class MongoDataManager {
         log.info("Loaded in " + size + " Mongo instances!");
     }
 
+    private @NonNull CompletableFuture<Void> warmUpInstances(long timeoutMillis) {
+        List<CompletableFuture<Void>> warmUps = new ArrayList<>();
+        for (MongoInstance instance : this.instances.values()) {
+            warmUps.add(CompletableFuture.runAsync(() -> {
+                long start = System.currentTimeMillis();
+                if (instance.warmUp(timeoutMillis)) {
+                    this.log.info("Warmed up Mongo instance " + instance.getIdentifier() + " in " + (System.currentTimeMillis() - start) + "ms.");
+                }
+            }, runnable -> Thread.ofVirtual().name("mongo-warm-up-" + instance.getIdentifier()).start(runnable)));
+        }
+
+        return CompletableFuture.allOf(warmUps.toArray(new CompletableFuture[0]));
+    }
+
     private @Nullable MongoInstance createMongoInstance(@NonNull MongoInstanceType type, @NonNull Logger log) {
         // Load in all the credentials
         final String path = "mongo." + type.name().toLowerCase() + ".";
@@ -58,17 +105,120 @@ public class MongoDataManager {
                 this.environment.getProperty(path + "password", "")
         );
 
+        // Load in the connection pool and timeout settings, the instance types have different load profiles
+        MongoConnectionSettings connectionSettings = MongoConnectionSettings.fromEnvironment(this.environment, path);
+
+        // Record the latency of every command, logging a sample of the slow ones
+        CommandMetrics commandMetrics = new CommandMetrics(type, log,
+                this.environment.getProperty("mongo.slow-command.threshold-ms", Long.class, 100L),
+                this.environment.getProperty("mongo.slow-command.sample-rate", Double.class, 0.1));
+
+        // Reject operations right away while the instance is unhealthy, instead of waiting for the driver timeouts
+        MongoCircuitBreaker circuitBreaker = new MongoCircuitBreaker(type, MongoCircuitBreakerSettings.fromEnvironment(this.environment), log);
+
+        // Limit the operations running on the instance, so a burst on one instance cannot starve requests for the others
+        MongoBulkhead bulkhead = new MongoBulkhead(type, MongoBulkheadSettings.fromEnvironment(this.environment, path, connectionSettings.poolMaxSize()));
+
+        // Refresh the registry of existing collections on an interval, to pick up collections created elsewhere
+        long collectionRefreshSeconds = this.environment.getProperty("mongo.collection-registry.refresh-seconds", Long.class, 60L);
+
         // Try creating a new Mongo instance
         try {
-            return new MongoInstance(type, credentials);
+            return new MongoInstance(type, credentials, connectionSettings, commandMetrics, circuitBreaker, bulkhead, collectionRefreshSeconds);
         } catch (MongoInstanceException exception) {
-            log.severe("Could not load Mongo instance type with identifier " + credentials.identifier() + "!");
+            log.severe("Could not load Mongo instance type with identifier " + credentials.identifier() + ": " + exception.getMessage());
         }
 
         return null;
     }
 
+    /**
+     * Get the warm-up of the Mongo instances, which opens their connections ahead of the first request.
+     * The warm-up completes once every instance replied and filled its connection pool, or gave up trying.
+     *
+     * @return Future completed when the warm-up of all instances finished.
+     */
+    public @NonNull CompletableFuture<Void> getWarmUp() {
+        return this.warmUp;
+    }
+
     public MongoInstance getInstanceByType(@NonNull MongoInstanceType type) {
         return this.instances.get(type);
     }
+
+    /**
+     * @return All loaded Mongo instances.
+     */
+    public @NonNull Collection<MongoInstance> getInstances() {
+        return this.instances.values();
+    }
+
+    /**
+     * Declare indexes that are required on a Mongo instance. They are created or verified in the background,
+     * indexes of an instance that could not be loaded are skipped.
+     *
+     * @param type The type of the Mongo instance the indexes are required on.
+     * @param definitions The required indexes.
+     */
+    public void registerIndexes(@NonNull MongoInstanceType type, @NonNull List<MongoIndexDefinition> definitions) {
+        if (definitions.isEmpty()) {
+            return;
+        }
+
+        MongoInstance instance = this.instances.get(type);
+        if (instance != null) {
+            this.indexProvisioner.provision(instance, definitions);
+        }
+    }
+
+    /**
+     * Get the in-memory registry of a collection of servers, starting to load it from the database in the background the first time.
+     *
+     * @param type The type of the Mongo instance the collection is on.
+     * @param database Name/identifier of the database the collection is in.
+     * @param collection Name/identifier of the collection.
+     * @return The registry of the collection, which rejects access until it is loaded.
+     * @throws IllegalStateException If the instance does not exist.
+     */
+    public @NonNull ServerRegistry getServerRegistry(@NonNull MongoInstanceType type, @NonNull String database, @NonNull String collection) {
+        MongoInstance instance = this.instances.get(type);
+        if (instance == null) {
+            throw new IllegalStateException("The server registry of " + database + "." + collection + " cannot be loaded, the " + type.name() + " Mongo instance does not exist!");
+        }
+
+        return this.serverRegistries.computeIfAbsent(type.name() + ":" + database + "." + collection, key -> {
+            long writeDelayMillis = this.environment.getProperty("mongo.server-registry.write-delay-ms", Long.class, 0L);
+            int writeBatchSize = this.environment.getProperty("mongo.server-registry.write-batch-size", Integer.class, 100);
+            long retryDelayMillis = this.environment.getProperty("mongo.server-registry.retry-delay-ms", Long.class, 5000L);
+            ServerRegistry registry = new ServerRegistry(instance, database, collection, this.log, writeDelayMillis, writeBatchSize, retryDelayMillis);
+            registry.start();
+            return registry;
+        });
+    }
+
+    /**
+     * @return Future completed once every server registry created so far is loaded.
+     */
+    public @NonNull CompletableFuture<Void> getServerRegistryLoads() {
+        return CompletableFuture.allOf(this.serverRegistries.values().stream()
+                .map(ServerRegistry::getLoaded)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Stop the server registries, writing their unwritten changes one final time.
+     * Must be called before the Mongo instances are shut down.
+     */
+    public void shutdownServerRegistries() {
+        for (ServerRegistry registry : this.serverRegistries.values()) {
+            registry.shutdown();
+        }
+    }
+
+    /**
+     * Stop all background work of the data manager. The Mongo instances themselves are not shut down.
+     */
+    public void shutdown() {
+        this.indexProvisioner.shutdown();
+    }
 }
\ No newline at end of file
@@ -7,12 +7,26 @@ import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import net.hexilion.library.backend.credentials.MongoCredentials;
+import net.hexilion.library.backend.database.mongo.breaker.MongoCircuitBreaker;
+import net.hexilion.library.backend.database.mongo.bulkhead.MongoBulkhead;
 import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import net.hexilion.library.backend.database.mongo.metrics.CommandMetrics;
+import net.hexilion.library.backend.database.mongo.metrics.ConnectionPoolMetrics;
 import net.hexilion.library.backend.exception.MongoInstanceException;
 import org.bson.Document;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 /**
@@ -20,17 +34,40 @@ import java.util.logging.Logger;
  */
 public class MongoInstance {
 
+    private static final long WARM_UP_POLL_MILLIS = 50;
+
     private final @NonNull String identifier;
     private final @NonNull MongoInstanceType instanceType;
+    private final @NonNull MongoConnectionSettings connectionSettings;
+    private final @NonNull ConnectionPoolMetrics poolMetrics;
+    private final @NonNull ConnectionPoolMetrics reactivePoolMetrics;
+    private final @NonNull CommandMetrics commandMetrics;
+    private final @NonNull MongoCircuitBreaker circuitBreaker;
+    private final @NonNull MongoBulkhead bulkhead;
     private final MongoClient client;
+    private final MongoClientSettings reactiveClientSettings;
+    private final @NonNull ReentrantLock reactiveClientLock;
+    private com.mongodb.reactivestreams.client.MongoClient reactiveClient;
+    private final @NonNull MongoCollectionRegistry collectionRegistry;
+    private final @NonNull Map<String, MongoCollection<Document>> collections;
+    private final @NonNull Map<String, com.mongodb.reactivestreams.client.MongoCollection<Document>> reactiveCollections;
 
-    public MongoInstance(@NonNull MongoInstanceType instanceType, @NonNull MongoCredentials credentials) throws MongoInstanceException {
+    public MongoInstance(@NonNull MongoInstanceType instanceType, @NonNull MongoCredentials credentials, @NonNull MongoConnectionSettings connectionSettings, @NonNull CommandMetrics commandMetrics, @NonNull MongoCircuitBreaker circuitBreaker, @NonNull MongoBulkhead bulkhead, long collectionRefreshSeconds) throws MongoInstanceException {
         // Log start
         long start = System.currentTimeMillis();
 
         Logger log = Logger.getLogger("mongo");
         this.instanceType = instanceType;
         this.identifier = credentials.identifier();
+        this.connectionSettings = connectionSettings;
+        this.poolMetrics = new ConnectionPoolMetrics();
+        this.reactivePoolMetrics = new ConnectionPoolMetrics();
+        this.reactiveClientLock = new ReentrantLock();
+        this.commandMetrics = commandMetrics;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.collections = new ConcurrentHashMap<>();
+        this.reactiveCollections = new ConcurrentHashMap<>();
 
         log.info(String.format("Hooking into Mongo instance with type %s and identifier %s...",
                 instanceType.getDisplayName(), identifier));
@@ -38,6 +75,9 @@ public class MongoInstance {
         // Validate Mongo credentials
         this.validateCredentials(credentials);
 
+        // Validate the connection settings
+        this.validateConnectionSettings(connectionSettings);
+
         // Create the connection string
         final String connectUri = String.format("mongodb://%s:%s@%s:%s/%s",
                 credentials.user(),
@@ -48,11 +88,11 @@ public class MongoInstance {
         ConnectionString connectionString = new ConnectionString(connectUri);
 
         try {
-            // Build the client settings
-            MongoClientSettings clientSettings = MongoClientSettings.builder()
-                    .applicationName("HexLib Mongo Instance")
-                    .applyConnectionString(connectionString)
-                    .build();
+            // Build the client settings, the reactive client gets its own pool and pool metrics
+            MongoClientSettings clientSettings = this.createClientSettings(connectionString, connectionSettings, connectionSettings.poolMaxSize(),
+                    connectionSettings.poolMinSize(), this.poolMetrics);
+            this.reactiveClientSettings = this.createClientSettings(connectionString, connectionSettings, connectionSettings.reactivePoolMaxSize(),
+                    0, this.reactivePoolMetrics);
 
             // Create the client connection
             this.client = MongoClients.create(clientSettings);
@@ -60,12 +100,42 @@ public class MongoInstance {
             throw new MongoInstanceException("Could not connect to the Mongo client!");
         }
 
+        // Keep track of the existing collections, so unknown collections are never created implicitly
+        if (collectionRefreshSeconds <= 0) {
+            this.client.close();
+            throw new MongoInstanceException("The collection registry refresh interval must be greater than 0!");
+        }
+
+        this.collectionRegistry = new MongoCollectionRegistry(this.client, this.identifier, log);
+        this.collectionRegistry.start(collectionRefreshSeconds);
+
         // Creation done
         long end = System.currentTimeMillis();
         log.info(String.format("Finished hooking into Mongo instance %s which took %dms!",
                 this.identifier, end - start));
     }
 
+    private @NonNull MongoClientSettings createClientSettings(@NonNull ConnectionString connectionString, @NonNull MongoConnectionSettings connectionSettings,
+                                                             int poolMaxSize, int poolMinSize, @NonNull ConnectionPoolMetrics poolMetrics) {
+        return MongoClientSettings.builder()
+                .applicationName("HexLib Mongo Instance")
+                .applyConnectionString(connectionString)
+                .addCommandListener(this.commandMetrics)
+                .applyToConnectionPoolSettings(builder -> builder
+                        .maxSize(poolMaxSize)
+                        .minSize(poolMinSize)
+                        .maxWaitTime(connectionSettings.poolMaxWaitTimeMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(connectionSettings.poolMaxIdleTimeMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(connectionSettings.poolMaxLifeTimeMillis(), TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(poolMetrics))
+                .applyToSocketSettings(builder -> builder
+                        .connectTimeout((int) connectionSettings.connectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) connectionSettings.readTimeoutMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(builder -> builder
+                        .serverSelectionTimeout(connectionSettings.serverSelectionTimeoutMillis(), TimeUnit.MILLISECONDS))
+                .build();
+    }
+
     private void validateCredentials(@NonNull MongoCredentials credentials) throws MongoInstanceException {
         // Identifier is invalid
         if (credentials.identifier().equals("")) {
@@ -94,22 +164,176 @@ public class MongoInstance {
         }
     }
 
+    private void validateConnectionSettings(@NonNull MongoConnectionSettings settings) throws MongoInstanceException {
+        // Pool size is invalid
+        if (settings.poolMaxSize() <= 0) {
+            throw new MongoInstanceException("The connection pool size cannot be less than or equal to 0!");
+        }
+
+        // Reactive pool size is invalid
+        if (settings.reactivePoolMaxSize() <= 0) {
+            throw new MongoInstanceException("The reactive connection pool size cannot be less than or equal to 0!");
+        }
+
+        // Minimum pool size is invalid
+        if (settings.poolMinSize() < 0 || settings.poolMinSize() > settings.poolMaxSize()) {
+            throw new MongoInstanceException("The minimum connection pool size must be between 0 and the maximum pool size!");
+        }
+
+        // Times are invalid
+        if (settings.poolMaxWaitTimeMillis() < 0 || settings.poolMaxIdleTimeMillis() < 0 || settings.poolMaxLifeTimeMillis() < 0
+                || settings.connectTimeoutMillis() < 0 || settings.readTimeoutMillis() < 0 || settings.serverSelectionTimeoutMillis() < 0) {
+            throw new MongoInstanceException("The connection timeouts cannot be negative!");
+        }
+
+        // Socket timeouts are limited to integers by the driver
+        if (settings.connectTimeoutMillis() > Integer.MAX_VALUE || settings.readTimeoutMillis() > Integer.MAX_VALUE) {
+            throw new MongoInstanceException("The socket timeouts cannot be greater than " + Integer.MAX_VALUE + " milliseconds!");
+        }
+    }
+
+    /**
+     * Open the connections to the instance ahead of the first request. The instance is pinged over as many
+     * connections as the minimum pool size at once, after which this waits until the connection pool holds
+     * its minimum amount of connections. Both the pings and the wait for the pool share the same time limit.
+     *
+     * @param timeoutMillis The maximum time to wait for the pings and for the connection pool to reach its minimum size, in milliseconds.
+     * @return Whether the instance replied and the connection pool reached its minimum size in time.
+     */
+    public boolean warmUp(long timeoutMillis) {
+        Logger log = Logger.getLogger("mongo");
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        int minSize = this.connectionSettings.poolMinSize();
+
+        // The first command performs the handshake, concurrent commands each check out their own connection
+        List<CompletableFuture<Void>> pings = new ArrayList<>();
+        for (int index = 0; index < Math.max(1, minSize); index++) {
+            pings.add(CompletableFuture.runAsync(this::ping, runnable -> Thread.ofVirtual().name("mongo-ping-" + this.identifier).start(runnable)));
+        }
+
+        // Wait for the pings no longer than the time limit, pings still running finish in the background
+        long remainingMillis = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        try {
+            CompletableFuture.allOf(pings.toArray(new CompletableFuture[0])).orTimeout(remainingMillis, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof TimeoutException) {
+                log.warning("Mongo instance " + this.identifier + " did not reply to the warm-up pings within " + timeoutMillis + "ms.");
+            } else {
+                log.warning("Could not ping Mongo instance " + this.identifier + " during warm-up: " + exception.getCause().getMessage());
+            }
+            return false;
+        }
+
+        // The pool opens the remaining connections of its minimum size in the background
+        while (this.poolMetrics.snapshot().openConnections() < minSize) {
+            if (System.nanoTime() >= deadline) {
+                log.warning("The connection pool of Mongo instance " + this.identifier + " did not reach its minimum size of " + minSize + " in time.");
+                return false;
+            }
+
+            try {
+                Thread.sleep(WARM_UP_POLL_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void ping() {
+        this.client.getDatabase("admin").runCommand(new Document("ping", 1));
+    }
+
     public void shutdown() {
+        // Stop refreshing the collection registry
+        this.collectionRegistry.shutdown();
+
         // Close the client connection if it exists
         if (this.client != null) {
             this.client.close();
         }
+
+        // Close the reactive client connection if it was ever used
+        this.reactiveClientLock.lock();
+        try {
+            if (this.reactiveClient != null) {
+                this.reactiveClient.close();
+            }
+        } finally {
+            this.reactiveClientLock.unlock();
+        }
     }
 
+    /**
+     * Get a collection from the client. Collections that are not in the collection registry are rejected,
+     * so they are never created implicitly by a write.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection.
+     * @return The cached collection handle, or null if the collection does not exist.
+     */
     public @Nullable MongoCollection<Document> getCollectionByIdentifier(@NonNull String database, @NonNull String collection) {
-        // Get the database from the client
-        MongoDatabase foundDatabase = this.client.getDatabase(database);
-        if (foundDatabase == null) {
+        // The collection does not exist
+        if (!this.collectionRegistry.contains(database, collection)) {
             return null;
         }
 
-        // Return the collection
-        return foundDatabase.getCollection(collection);
+        // Return the collection, handles are cached since they are immutable
+        return this.collections.computeIfAbsent(MongoCollectionRegistry.namespaceOf(database, collection),
+                namespace -> this.client.getDatabase(database).getCollection(collection));
+    }
+
+    /**
+     * Get a collection from the reactive streams client, which performs its operations without blocking the calling thread.
+     * The reactive client shares the settings of the blocking client but has its own connection pool of
+     * 'pool.reactive-max-size' connections, which is opened on demand since the client is created on first use.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection.
+     * @return The cached collection handle, or null if the collection does not exist.
+     * @see MongoInstance#getCollectionByIdentifier(String, String)
+     */
+    public @Nullable com.mongodb.reactivestreams.client.MongoCollection<Document> getReactiveCollectionByIdentifier(@NonNull String database, @NonNull String collection) {
+        // The collection does not exist
+        if (!this.collectionRegistry.contains(database, collection)) {
+            return null;
+        }
+
+        // Return the collection, handles are cached since they are immutable
+        return this.reactiveCollections.computeIfAbsent(MongoCollectionRegistry.namespaceOf(database, collection),
+                namespace -> this.getReactiveClient().getDatabase(database).getCollection(collection));
+    }
+
+    private com.mongodb.reactivestreams.client.MongoClient getReactiveClient() {
+        this.reactiveClientLock.lock();
+        try {
+            if (this.reactiveClient == null) {
+                this.reactiveClient = com.mongodb.reactivestreams.client.MongoClients.create(this.reactiveClientSettings);
+            }
+
+            return this.reactiveClient;
+        } finally {
+            this.reactiveClientLock.unlock();
+        }
+    }
+
+    /**
+     * Get a database from the client. The database is not validated to exist.
+     *
+     * @param database Name/identifier of the database.
+     * @return The database handle.
+     */
+    public @NonNull MongoDatabase getDatabaseByIdentifier(@NonNull String database) {
+        return this.client.getDatabase(database);
+    }
+
+    /**
+     * @return The registry of the databases and collections that exist on the instance.
+     */
+    public @NonNull MongoCollectionRegistry getCollectionRegistry() {
+        return this.collectionRegistry;
     }
 
     /**
@@ -119,6 +343,82 @@ public class MongoInstance {
         return this.identifier;
     }
 
+    /**
+     * @return The maximum amount of connections the client keeps open to the instance.
+     */
+    public int getConnectionPoolMaxSize() {
+        return this.connectionSettings.poolMaxSize();
+    }
+
+    /**
+     * @return The maximum amount of connections the reactive client keeps open to the instance, on top of those of the blocking client.
+     */
+    public int getReactiveConnectionPoolMaxSize() {
+        return this.connectionSettings.reactivePoolMaxSize();
+    }
+
+    /**
+     * @return The connection pool and timeout settings of the instance.
+     */
+    public @NonNull MongoConnectionSettings getConnectionSettings() {
+        return this.connectionSettings;
+    }
+
+    /**
+     * @return The metrics of the connection pool of the blocking client.
+     */
+    public @NonNull ConnectionPoolMetrics getPoolMetrics() {
+        return this.poolMetrics;
+    }
+
+    /**
+     * @return The metrics of the connection pool of the reactive client.
+     */
+    public @NonNull ConnectionPoolMetrics getReactivePoolMetrics() {
+        return this.reactivePoolMetrics;
+    }
+
+    /**
+     * @return The latency metrics of the commands executed on the instance, shared by the blocking and reactive client.
+     */
+    public @NonNull CommandMetrics getCommandMetrics() {
+        return this.commandMetrics;
+    }
+
+    /**
+     * @return The circuit breaker guarding the repository operations on the instance.
+     */
+    public @NonNull MongoCircuitBreaker getCircuitBreaker() {
+        return this.circuitBreaker;
+    }
+
+    /**
+     * @return The bulkhead limiting the repository operations on the instance.
+     */
+    public @NonNull MongoBulkhead getBulkhead() {
+        return this.bulkhead;
+    }
+
+    /**
+     * Run a blocking repository operation on the instance, through its bulkhead and circuit breaker.
+     *
+     * @param operation The operation to run.
+     * @return The result of the operation.
+     */
+    public <T> T execute(@NonNull Supplier<T> operation) {
+        return this.bulkhead.execute(() -> this.circuitBreaker.execute(operation));
+    }
+
+    /**
+     * Run a non-blocking repository operation on the instance, through its bulkhead and circuit breaker.
+     *
+     * @param operation The operation to start.
+     * @return The future of the operation.
+     */
+    public <T> @NonNull CompletableFuture<T> executeAsync(@NonNull Supplier<CompletableFuture<T>> operation) {
+        return this.bulkhead.executeAsync(() -> this.circuitBreaker.executeAsync(operation));
+    }
+
     /**
      * @return The Mongo instance type of this instance.
      */
@@ -1,20 +1,55 @@
 package net.hexilion.library.backend.database.mongo;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
 import net.hexilion.library.backend.database.mongo.enums.JsonDocumentActionResult;
 import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import net.hexilion.library.backend.database.mongo.index.MongoIndex;
+import net.hexilion.library.backend.database.mongo.index.MongoIndexDefinition;
+import net.hexilion.library.backend.request.RequestDeadline;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.conversions.Bson;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Used to more easily get data from Mongo databases and collections.
+ * <p>
+ * Subclasses declare the indexes their queries rely on with {@link MongoIndex}.
+ * Operations are limited to the remaining time of the {@link RequestDeadline} of the current request,
+ * as read once the operation got its place in the bulkhead of the instance, so time spent queueing counts against it.
  */
 public abstract class MongoRepository {
 
@@ -26,6 +61,9 @@ public abstract class MongoRepository {
     public MongoRepository(@NonNull MongoInstanceType type, @NonNull MongoDataManager dataManager) {
         this.type = type;
         this.instance = dataManager.getInstanceByType(type);
+
+        // Make sure the indexes the subclass relies on exist
+        dataManager.registerIndexes(type, MongoIndexDefinition.of(this.getClass()));
     }
 
     /**
@@ -38,135 +76,426 @@ public abstract class MongoRepository {
      * @return Enum result of the return of the creating.
      */
     public JsonDocumentActionResult createDocument(@NonNull String database, @NonNull String collection, @NonNull String documentId, @NonNull Document document) {
-        // Get the collection from the database
-        MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
-        if (foundCollection == null) {
-            return JsonDocumentActionResult.NO_COLLECTION;
-        }
+        return this.instance.execute(() -> {
+            // Inserts have no server-side time limit, only make sure the deadline has not passed yet
+            RequestDeadline.ensureNotExpired();
 
-        // Check if a document with the same identifier already exists
-        Document foundDocument = foundCollection.find(Filters.eq(DOCUMENT_IDENTIFIER, documentId)).first();
-        if (foundDocument != null) {
-            return JsonDocumentActionResult.ALREADY_EXISTS;
-        }
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return JsonDocumentActionResult.NO_COLLECTION;
+            }
+
+            // Insert the new document, the unique '_id' index rejects duplicates server-side
+            try {
+                foundCollection.insertOne(document);
+            } catch (MongoWriteException exception) {
+                if (exception.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                    return JsonDocumentActionResult.ALREADY_EXISTS;
+                }
+
+                throw exception;
+            }
 
-        // Insert the new document
-        foundCollection.insertOne(document);
-        return JsonDocumentActionResult.SUCCESS;
+            return JsonDocumentActionResult.SUCCESS;
+        });
     }
 
     /**
      * @see MongoRepository#updateDocument(String, String, Bson, Map)
      */
-    public JsonDocumentActionResult updateDocument(@NonNull String database, @NonNull String collection, @NonNull String documentId, @NonNull Map<String, Object> updateContent) {
+    public JsonDocumentActionOutcome updateDocument(@NonNull String database, @NonNull String collection, @NonNull String documentId, @NonNull Map<String, Object> updateContent) {
         return this.updateDocument(database, collection, Filters.eq(DOCUMENT_IDENTIFIER, documentId), updateContent);
     }
 
     /**
-     * Update the contents in a JSON document.
+     * Update the contents in a JSON document. Only the provided fields are written, using
+     * '$set' and '$unset' in a single atomic find-one-and-update operation on the server.
      *
      * @param database Name/identifier of the database to get the collection from.
      * @param collection Name/identifier of the collection to update the document in.
      * @param filter Bson filter used to find the target document to update.
-     * @param updateContent Map containing the keys and their values to update. This can include both new fields to append but also existing ones to replace.
-     * @return Enum result of the return of the updating.
+     * @param updateContent Map containing the dot paths and their values to update. This can include both new fields to append but also existing ones to replace. Fields with a null value are removed.
+     * @return Outcome of the updating, carrying the document as it looks after the update.
+     * @see DocumentUpdates#validatePaths(java.util.Collection)
      */
-    public JsonDocumentActionResult updateDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @NonNull Map<String, Object> updateContent) {
-        // Get the collection from the database
-        MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
-        if (foundCollection == null) {
-            return JsonDocumentActionResult.NO_COLLECTION;
-        }
+    public JsonDocumentActionOutcome updateDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @NonNull Map<String, Object> updateContent) {
+        return this.findAndUpdateDocument(database, collection, filter, DocumentUpdates.toSetUpdate(updateContent));
+    }
 
-        // Check if a document exists with the update identifier
-        Document foundDocument = foundCollection.find(filter).first();
-        if (foundDocument == null) {
-            return JsonDocumentActionResult.NO_EXIST;
-        }
+    /**
+     * Atomically increment numeric fields in a JSON document using '$inc', without reading it first.
+     * Fields that do not exist yet are created with the increment as their value.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to update the document in.
+     * @param filter Bson filter used to find the target document to update.
+     * @param increments Map containing the dot paths and the amounts to increment them by. Negative amounts decrement.
+     * @return Outcome of the incrementing, carrying the document as it looks after the increment.
+     */
+    public JsonDocumentActionOutcome incrementDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @NonNull Map<String, Number> increments) {
+        return this.findAndUpdateDocument(database, collection, filter, DocumentUpdates.toIncrementUpdate(increments));
+    }
+
+    private JsonDocumentActionOutcome findAndUpdateDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @Nullable Bson update) {
+        return this.instance.execute(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return JsonDocumentActionOutcome.of(JsonDocumentActionResult.NO_COLLECTION);
+            }
 
-        // Put in all the new content
-        foundDocument.putAll(updateContent);
+            // Empty updates are rejected by the server, there is nothing to update so just look the document up
+            Document updatedDocument;
+            try {
+                if (update == null) {
+                    updatedDocument = foundCollection.find(filter).maxTime(maxTimeMillis, TimeUnit.MILLISECONDS).first();
+                } else {
+                    FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER).maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+                    updatedDocument = foundCollection.findOneAndUpdate(filter, update, options);
+                }
+            } catch (MongoCommandException exception) {
+                // The update does not apply to the document, e.g. incrementing a field that is not numeric
+                if (DocumentUpdates.isRejectedUpdate(exception)) {
+                    return JsonDocumentActionOutcome.of(JsonDocumentActionResult.FAILED);
+                }
 
-        // Update and replace the document in the database
-        foundCollection.replaceOne(filter, foundDocument);
-        return JsonDocumentActionResult.SUCCESS;
+                throw exception;
+            }
+
+            // No document matched the filter
+            if (updatedDocument == null) {
+                return JsonDocumentActionOutcome.of(JsonDocumentActionResult.NO_EXIST);
+            }
+
+            return JsonDocumentActionOutcome.success(updatedDocument);
+        });
     }
 
     /**
      * @see MongoRepository#deleteDocument(String, String, Bson)
      */
-    public JsonDocumentActionResult deleteDocument(@NonNull String database, @NonNull String collection, @NonNull String documentId) {
-        return this.deleteDocument(documentId, collection, Filters.eq("_id", documentId));
+    public JsonDocumentActionOutcome deleteDocument(@NonNull String database, @NonNull String collection, @NonNull String documentId) {
+        return this.deleteDocument(database, collection, Filters.eq(DOCUMENT_IDENTIFIER, documentId));
     }
 
     /**
-     * Permanently delete a document.
+     * Permanently delete a document. The deletion is performed as a single
+     * atomic find-one-and-delete operation on the server.
      *
      * @param database Name/identifier of the database to get the collection from.
      * @param collection Name/identifier of the collection to delete the document in.
      * @param filter Bson filter used to find the target document to delete.
-     * @return Enum result of the return of the deleting.
+     * @return Outcome of the deleting, carrying the document that was deleted.
      */
-    public JsonDocumentActionResult deleteDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter) {
-        // Get the collection from the database
-        MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
-        if (foundCollection == null) {
-            return JsonDocumentActionResult.NO_COLLECTION;
-        }
+    public JsonDocumentActionOutcome deleteDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter) {
+        return this.instance.execute(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
 
-        // Check if the document exists
-        Document foundDocument = foundCollection.find(filter).first();
-        if (foundDocument == null) {
-            return JsonDocumentActionResult.NO_EXIST;
-        }
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return JsonDocumentActionOutcome.of(JsonDocumentActionResult.NO_COLLECTION);
+            }
 
-        // Delete the document
-        foundCollection.deleteOne(filter);
-        return JsonDocumentActionResult.SUCCESS;
+            // Delete the document and get it back in the same round trip
+            Document deletedDocument = foundCollection.findOneAndDelete(filter, new FindOneAndDeleteOptions().maxTime(maxTimeMillis, TimeUnit.MILLISECONDS));
+            if (deletedDocument == null) {
+                return JsonDocumentActionOutcome.of(JsonDocumentActionResult.NO_EXIST);
+            }
+
+            return JsonDocumentActionOutcome.success(deletedDocument);
+        });
     }
 
     /**
-     * @see MongoRepository#getDocument(String, String, Bson)
+     * Perform a batch of create, update and delete operations as a single unordered bulk write.
+     * Operations are independent of each other and are not guaranteed to be applied in order,
+     * so a batch must not contain more than one operation for the same document, the results are wrong otherwise.
+     * <p>
+     * The server only reports how many updates and deletions matched a document, not which ones.
+     * If all or none of them matched the results follow from the counts alone, otherwise updates are
+     * told apart by looking up their documents after the write and deletions by looking up their
+     * documents before it, since a deleted document cannot be told apart from a missing one afterwards.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to perform the operations in.
+     * @param operations The operations to perform.
+     * @return List containing the enum result of each operation, in the same order as the operations.
+     *         Null if the collection does not exist.
      */
-    public @Nullable Document getDocument(@NonNull String database, @NonNull String collection, @NonNull String documentId) {
-        return this.getDocument(database, collection, Filters.eq(DOCUMENT_IDENTIFIER, documentId));
+    public @Nullable List<JsonDocumentActionResult> bulkWriteDocuments(@NonNull String database, @NonNull String collection, @NonNull List<BulkDocumentOperation> operations) {
+        return this.instance.execute(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return null;
+            }
+
+            // Build the write models, remembering which operation each model belongs to
+            JsonDocumentActionResult[] results = new JsonDocumentActionResult[operations.size()];
+            List<WriteModel<Document>> models = new ArrayList<>(operations.size());
+            int[] operationIndexes = new int[operations.size()];
+            Set<Object> deleteIdentifiers = new HashSet<>();
+
+            for (int index = 0; index < operations.size(); index++) {
+                BulkDocumentOperation operation = operations.get(index);
+                Bson filter = Filters.eq(DOCUMENT_IDENTIFIER, operation.documentId());
+
+                WriteModel<Document> model = switch (operation.action()) {
+                    case CREATE -> new InsertOneModel<>(operation.document());
+                    case UPDATE -> {
+                        Bson update = operation.document() == null ? null : DocumentUpdates.toSetUpdate(operation.document());
+                        yield update == null ? null : new UpdateOneModel<Document>(filter, update);
+                    }
+                    case DELETE -> {
+                        deleteIdentifiers.add(operation.documentId());
+                        yield new DeleteOneModel<>(filter);
+                    }
+                };
+
+                // Nothing to write, e.g. an update without any fields, its result is looked up after the write
+                if (model != null) {
+                    operationIndexes[models.size()] = index;
+                    models.add(model);
+                }
+            }
+
+            // Only needed to tell which deletions matched if some but not all of them did
+            Set<Object> existedBeforeDelete = deleteIdentifiers.size() > 1
+                    ? findExistingIdentifiers(foundCollection, deleteIdentifiers, maxTimeMillis)
+                    : Set.of();
+
+            // Write all models in a single round trip, failed models do not stop the others
+            BulkWriteResult writeResult = null;
+            if (!models.isEmpty()) {
+                RequestDeadline.ensureNotExpired();
+                try {
+                    writeResult = foundCollection.bulkWrite(models, new BulkWriteOptions().ordered(false));
+                } catch (MongoBulkWriteException exception) {
+                    writeResult = exception.getWriteResult();
+                    for (BulkWriteError error : exception.getWriteErrors()) {
+                        int index = operationIndexes[error.getIndex()];
+                        results[index] = error.getCategory() == ErrorCategory.DUPLICATE_KEY
+                                ? JsonDocumentActionResult.ALREADY_EXISTS
+                                : JsonDocumentActionResult.FAILED;
+                    }
+                }
+            }
+
+            // Creations without an error succeeded, updates and deletions are only reported as counts
+            List<Integer> updates = new ArrayList<>();
+            List<Integer> deletes = new ArrayList<>();
+            for (int model = 0; model < models.size(); model++) {
+                int index = operationIndexes[model];
+                if (results[index] != null) {
+                    continue;
+                }
+
+                switch (operations.get(index).action()) {
+                    case CREATE -> results[index] = JsonDocumentActionResult.SUCCESS;
+                    case UPDATE -> updates.add(index);
+                    case DELETE -> deletes.add(index);
+                }
+            }
+
+            long matchedCount = writeResult == null ? 0 : writeResult.getMatchedCount();
+            if (matchedCount == updates.size() || matchedCount == 0) {
+                JsonDocumentActionResult result = matchedCount == 0 ? JsonDocumentActionResult.NO_EXIST : JsonDocumentActionResult.SUCCESS;
+                updates.forEach(index -> results[index] = result);
+            }
+
+            long deletedCount = writeResult == null ? 0 : writeResult.getDeletedCount();
+            for (int index : deletes) {
+                boolean deleted = deletedCount == deletes.size() || (deletedCount > 0 && existedBeforeDelete.contains(operations.get(index).documentId()));
+                results[index] = deleted ? JsonDocumentActionResult.SUCCESS : JsonDocumentActionResult.NO_EXIST;
+            }
+
+            // Look up the documents of the updates that are not resolved yet, they matched if their document exists
+            Set<Object> unresolvedIdentifiers = new HashSet<>();
+            for (int index = 0; index < results.length; index++) {
+                if (results[index] == null) {
+                    unresolvedIdentifiers.add(operations.get(index).documentId());
+                }
+            }
+
+            if (!unresolvedIdentifiers.isEmpty()) {
+                Set<Object> existingIdentifiers = findExistingIdentifiers(foundCollection, unresolvedIdentifiers, maxTimeMillis);
+                for (int index = 0; index < results.length; index++) {
+                    if (results[index] == null) {
+                        results[index] = existingIdentifiers.contains(operations.get(index).documentId())
+                                ? JsonDocumentActionResult.SUCCESS
+                                : JsonDocumentActionResult.NO_EXIST;
+                    }
+                }
+            }
+
+            return Arrays.asList(results);
+        });
+    }
+
+    private static @NonNull Set<Object> findExistingIdentifiers(@NonNull MongoCollection<Document> collection, @NonNull Set<Object> identifiers, long maxTimeMillis) {
+        // Look all documents up at once, only their identifiers are sent by the server
+        Set<Object> existingIdentifiers = new HashSet<>();
+        collection.find(Filters.in(DOCUMENT_IDENTIFIER, identifiers))
+                .projection(Projections.include(DOCUMENT_IDENTIFIER))
+                .maxTime(maxTimeMillis, TimeUnit.MILLISECONDS)
+                .forEach(document -> existingIdentifiers.add(document.get(DOCUMENT_IDENTIFIER)));
+        return existingIdentifiers;
     }
 
     /**
-     * Get a Mongo document from the target database and collection.
+     * Get a Mongo document from the target database and collection in its raw BSON form.
+     * The document is not decoded, so it can be written to a response without building any maps.
      *
      * @param database Name/identifier of the database to get the collection from.
      * @param collection Name/identifier of the collection to get the document from.
      * @param filter Bson filter used to find the target document to query.
-     * @return Instance of the full JSON document.
+     * @param projection Projection of the fields to return, or null to return the full document.
+     * @return Instance of the raw BSON document.
      */
-    public @Nullable Document getDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter) {
-        // Get the collection from the database
-        MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
-        if (foundCollection == null) {
-            return null;
-        }
+    public @Nullable RawBsonDocument getRawDocument(@NonNull String database, @NonNull String collection, @NonNull Bson filter, @Nullable DocumentProjection projection) {
+        return this.instance.execute(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return null;
+            }
+
+            // Return the document based on the filter, unneeded fields are never sent by the server
+            return foundCollection.withDocumentClass(RawBsonDocument.class)
+                    .find(filter)
+                    .projection(projection == null ? null : projection.toBson())
+                    .maxTime(maxTimeMillis, TimeUnit.MILLISECONDS)
+                    .first();
+        });
+    }
+
+    /**
+     * Get multiple Mongo documents by their identifiers from the target database and collection,
+     * using a single '$in' query.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to get the documents from.
+     * @param documentIds The identifier '_id' values of the documents to get.
+     * @param projection Projection of the fields to return, or null to return the full documents.
+     * @return Map of each found identifier to its JSON document. Identifiers that were not found are left out.
+     */
+    public @Nullable Map<String, Document> getDocuments(@NonNull String database, @NonNull String collection, @NonNull Collection<String> documentIds, @Nullable DocumentProjection projection) {
+        return this.instance.execute(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
 
-        // Return the document based on the filter
-        return foundCollection.find(filter).first();
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return null;
+            }
+
+            // Look all documents up at once
+            Map<String, Document> documents = new LinkedHashMap<>();
+            foundCollection.find(Filters.in(DOCUMENT_IDENTIFIER, documentIds))
+                    .projection(projection == null ? null : projection.toBson())
+                    .maxTime(maxTimeMillis, TimeUnit.MILLISECONDS)
+                    .forEach(document -> documents.put(String.valueOf(document.get(DOCUMENT_IDENTIFIER)), document));
+            return documents;
+        });
+    }
+
+    /**
+     * Get a page of documents within the target database and collection in their raw BSON form. Pages are ordered
+     * by the '_id' value and continue after the '_id' of the last document in the previous page.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to get the documents from.
+     * @param after The '_id' value of the last document in the previous page, or null to get the first page.
+     * @param limit The maximum amount of documents to include in the page, or 0 to include all documents.
+     * @param projection Projection of the fields to return, or null to return the full documents.
+     * @return List of the raw BSON documents in the page, or null if the collection does not exist.
+     */
+    public @Nullable List<RawBsonDocument> getRawDocumentList(@NonNull String database, @NonNull String collection, @Nullable BsonValue after, int limit, @Nullable DocumentProjection projection) {
+        return this.instance.execute(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return null;
+            }
+
+            // Continue after the cursor, the '_id' index serves both the filter and the sort
+            Bson filter = after == null ? Filters.empty() : Filters.gt(DOCUMENT_IDENTIFIER, after);
+            return foundCollection.withDocumentClass(RawBsonDocument.class)
+                    .find(filter)
+                    .projection(projection == null ? null : projection.toBson())
+                    .maxTime(maxTimeMillis, TimeUnit.MILLISECONDS)
+                    .sort(Sorts.ascending(DOCUMENT_IDENTIFIER))
+                    .limit(limit)
+                    .into(new ArrayList<>(limit));
+        });
     }
 
     /**
-     * Get all existing documents within the target database and collection.
+     * Consume a cursor over all existing documents within the target database and collection.
+     * The documents are kept in their raw BSON form so that they can be streamed without
+     * being decoded. Opening the cursor and fetching each further batch of documents are
+     * operations on the instance, consuming the documents of a fetched batch is not, so a
+     * slow consumer neither holds a place in the bulkhead nor counts as a slow operation.
      *
      * @param database Name/identifier of the database to get the collection from.
      * @param collection Name/identifier of the collection to get all documents from.
-     * @return List containing instance of each full JSON document.
+     * @param projection Projection of the fields to return, or null to return the full documents.
+     * @param consumer Consumer of every raw BSON document in the collection.
+     * @return Whether the collection exists, the consumer is not called if it does not.
+     * @throws IOException If the consumer failed writing the documents.
      */
-    public @Nullable List<Document> getDocumentList(@NonNull String database, @NonNull String collection) {
-        // Get the collection from the database
-        MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
-        if (foundCollection == null) {
-            return null;
+    public boolean consumeDocumentCursor(@NonNull String database, @NonNull String collection, @Nullable DocumentProjection projection, @NonNull DocumentCursorConsumer consumer) throws IOException {
+        MongoCursor<RawBsonDocument> cursor = this.instance.execute(() -> {
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+
+            // Get the collection from the database
+            MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
+            if (foundCollection == null) {
+                return null;
+            }
+
+            // Open the cursor, this fetches the first batch of documents
+            return foundCollection.withDocumentClass(RawBsonDocument.class)
+                    .find()
+                    .projection(projection == null ? null : projection.toBson())
+                    .maxTime(maxTimeMillis, TimeUnit.MILLISECONDS)
+                    .cursor();
+        });
+
+        if (cursor == null) {
+            return false;
+        }
+
+        try (cursor) {
+            consumer.accept(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    // Documents of the fetched batch are in memory, only fetching the next batch is an operation on the instance
+                    return cursor.available() > 0 || MongoRepository.this.instance.execute(cursor::hasNext);
+                }
+
+                @Override
+                public RawBsonDocument next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return cursor.next();
+                }
+            });
         }
 
-        // Turn into list
-        return foundCollection.find().into(new ArrayList<>());
+        return true;
     }
 
     /**
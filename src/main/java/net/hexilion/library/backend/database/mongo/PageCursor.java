@@ -0,0 +1,59 @@
+package net.hexilion.library.backend.database.mongo;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Base64;
+
+/**
+ * Encodes the '_id' value a page of documents continues after into an opaque cursor.
+ * <p>
+ * The value is kept as BSON inside the cursor, so identifiers of any type, e.g. object ids or
+ * numbers, are continued after with their own type instead of with their string representation.
+ */
+public final class PageCursor {
+
+    private static final @NonNull String DOCUMENT_IDENTIFIER = "_id";
+    private static final @NonNull BsonDocumentCodec DOCUMENT_CODEC = new BsonDocumentCodec();
+
+    private PageCursor() { }
+
+    /**
+     * @param identifier The '_id' value of the last document in a page.
+     * @return URL-safe cursor of the next page.
+     */
+    public static @NonNull String encode(@NonNull BsonValue identifier) {
+        RawBsonDocument document = new RawBsonDocument(new BsonDocument(DOCUMENT_IDENTIFIER, identifier), DOCUMENT_CODEC);
+        byte[] bytes = new byte[document.getByteBuffer().remaining()];
+        document.getByteBuffer().get(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Decode a cursor, as provided in a request.
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @return The '_id' value to continue after, or null if there is no cursor.
+     * @throws IllegalArgumentException If the cursor is not a valid cursor.
+     */
+    public static @Nullable BsonValue decode(@Nullable String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        try {
+            BsonValue identifier = new RawBsonDocument(Base64.getUrlDecoder().decode(cursor)).get(DOCUMENT_IDENTIFIER);
+            if (identifier != null) {
+                return identifier;
+            }
+        } catch (RuntimeException exception) {
+            // Fall through, the cursor was not created by this class and is not valid BSON
+        }
+
+        throw new IllegalArgumentException("The cursor '" + cursor + "' is not a valid cursor.");
+    }
+}
\ No newline at end of file
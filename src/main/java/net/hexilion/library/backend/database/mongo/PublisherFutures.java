@@ -0,0 +1,102 @@
+package net.hexilion.library.backend.database.mongo;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Adapts the publishers of the reactive streams driver to completable futures.
+ * The futures are completed on the driver's own threads, so dependent stages must not block.
+ */
+final class PublisherFutures {
+
+    private PublisherFutures() {
+    }
+
+    /**
+     * Subscribe to a publisher and complete with its first item, cancelling the subscription after it.
+     *
+     * @param publisher The publisher to subscribe to.
+     * @return Future completed with the first item, or with null if the publisher completes without any items.
+     */
+    static <T> @NonNull CompletableFuture<@Nullable T> first(@NonNull Publisher<T> publisher) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        publisher.subscribe(new Subscriber<T>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(T item) {
+                future.complete(item);
+                this.subscription.cancel();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(null);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Subscribe to a publisher and collect all of its items.
+     *
+     * @param publisher The publisher to subscribe to.
+     * @param into The list to add the items to.
+     * @return Future completed with the list once the publisher completes.
+     */
+    static <T> @NonNull CompletableFuture<List<T>> collect(@NonNull Publisher<T> publisher, @NonNull List<T> into) {
+        CompletableFuture<List<T>> future = new CompletableFuture<>();
+        publisher.subscribe(new Subscriber<T>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                into.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(into);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Get the actual cause of a failed future stage.
+     *
+     * @param throwable The throwable a stage failed with.
+     * @return The throwable without its completion wrapper.
+     */
+    static @NonNull Throwable unwrap(@NonNull Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+}
\ No newline at end of file
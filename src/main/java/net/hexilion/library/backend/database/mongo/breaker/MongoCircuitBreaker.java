@@ -0,0 +1,317 @@
+package net.hexilion.library.backend.database.mongo.breaker;
+
+import com.mongodb.MongoConnectionPoolClearedException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import net.hexilion.library.backend.exception.MongoCircuitOpenException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker guarding the operations on a single Mongo instance.
+ * <p>
+ * The outcomes of the most recent operations are kept in a sliding window. Once the rate of failed or
+ * slow operations in the window reaches its threshold the breaker opens, and operations are rejected
+ * right away with a {@link MongoCircuitOpenException} instead of waiting for the driver timeouts. After
+ * the open time a limited amount of probe operations is let through: the breaker closes again once they
+ * all succeed and opens again as soon as one of them fails.
+ * <p>
+ * Only failures that point to an unhealthy instance count, e.g. network errors and timeouts. Errors
+ * caused by the operation itself, like a rejected update, show the instance is responding.
+ */
+public class MongoCircuitBreaker {
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final @NonNull MongoInstanceType type;
+    private final @NonNull MongoCircuitBreakerSettings settings;
+    private final @NonNull Logger log;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    private final @NonNull ReentrantLock lock;
+    private final byte[] window;
+    private int windowPosition;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowSlowCalls;
+    private int probesInFlight;
+    private int probeSuccesses;
+    private volatile long openedAt;
+    private volatile @NonNull State state;
+
+    private final @NonNull LongAdder rejectedCalls;
+    private final @NonNull LongAdder openings;
+
+    public MongoCircuitBreaker(@NonNull MongoInstanceType type, @NonNull MongoCircuitBreakerSettings settings, @NonNull Logger log) {
+        this.type = type;
+        this.settings = settings;
+        this.log = log;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(settings.slowCallMillis());
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(settings.openMillis());
+
+        this.lock = new ReentrantLock();
+        this.window = new byte[Math.max(1, settings.windowSize())];
+        this.state = State.CLOSED;
+
+        this.rejectedCalls = new LongAdder();
+        this.openings = new LongAdder();
+    }
+
+    /**
+     * Run a blocking operation through the breaker.
+     *
+     * @param operation The operation to run on the instance.
+     * @return The result of the operation.
+     * @throws MongoCircuitOpenException If the breaker is open and the operation was not run.
+     */
+    public <T> T execute(@NonNull Supplier<T> operation) {
+        boolean probe = this.acquire();
+        long start = System.nanoTime();
+        try {
+            T result = operation.get();
+            this.record(probe, System.nanoTime() - start, null);
+            return result;
+        } catch (RuntimeException exception) {
+            this.record(probe, System.nanoTime() - start, exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Run a non-blocking operation through the breaker. The outcome is recorded once the returned future completes.
+     *
+     * @param operation The operation to start on the instance.
+     * @return The future of the operation.
+     * @throws MongoCircuitOpenException If the breaker is open and the operation was not started.
+     */
+    public <T> @NonNull CompletableFuture<T> executeAsync(@NonNull Supplier<CompletableFuture<T>> operation) {
+        boolean probe = this.acquire();
+        long start = System.nanoTime();
+
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException exception) {
+            this.record(probe, System.nanoTime() - start, exception);
+            throw exception;
+        }
+
+        return future.whenComplete((result, throwable) -> {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            this.record(probe, System.nanoTime() - start, cause);
+        });
+    }
+
+    /**
+     * @return The current state of the breaker.
+     */
+    public @NonNull State getState() {
+        return this.state;
+    }
+
+    /**
+     * @return A snapshot of the state and the sliding window of the breaker.
+     */
+    public @NonNull Snapshot snapshot() {
+        this.lock.lock();
+        try {
+            int calls = this.windowCalls;
+            return new Snapshot(
+                    this.state,
+                    calls,
+                    calls == 0 ? 0 : (double) this.windowFailures / calls,
+                    calls == 0 ? 0 : (double) this.windowSlowCalls / calls,
+                    this.rejectedCalls.sum(),
+                    this.openings.sum()
+            );
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private boolean acquire() {
+        // Fast path, the breaker is closed nearly all the time
+        if (this.state == State.CLOSED) {
+            return false;
+        }
+
+        this.lock.lock();
+        try {
+            if (this.state == State.OPEN) {
+                if (System.nanoTime() - this.openedAt < this.openNanos) {
+                    this.rejectedCalls.increment();
+                    throw new MongoCircuitOpenException(this.type, this.getRetryAfterMillis());
+                }
+
+                // The open time passed, let probe operations through
+                this.state = State.HALF_OPEN;
+                this.probesInFlight = 0;
+                this.probeSuccesses = 0;
+                this.log.info("The circuit breaker of the " + this.type.name() + " Mongo instance is probing the instance.");
+            }
+
+            if (this.state == State.HALF_OPEN) {
+                if (this.probesInFlight >= this.settings.halfOpenProbes()) {
+                    this.rejectedCalls.increment();
+                    throw new MongoCircuitOpenException(this.type, 0);
+                }
+
+                this.probesInFlight++;
+                return true;
+            }
+
+            return false;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void record(boolean probe, long elapsedNanos, @Nullable Throwable throwable) {
+        byte outcome;
+        if (throwable != null && isInstanceFailure(throwable)) {
+            outcome = FAILURE;
+        } else if (throwable instanceof MongoExecutionTimeoutException || elapsedNanos >= this.slowCallNanos) {
+            // Hitting the time limit of the request deadline means the operation was slow, not that the instance is down
+            outcome = SLOW;
+        } else {
+            outcome = SUCCESS;
+        }
+
+        this.lock.lock();
+        try {
+            if (probe) {
+                this.recordProbe(outcome);
+            } else if (this.state == State.CLOSED) {
+                this.recordCall(outcome);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void recordProbe(byte outcome) {
+        if (this.state != State.HALF_OPEN) {
+            return;
+        }
+
+        this.probesInFlight--;
+        if (outcome != SUCCESS) {
+            this.open("a probe operation failed");
+        } else if (++this.probeSuccesses >= this.settings.halfOpenProbes()) {
+            this.resetWindow();
+            this.state = State.CLOSED;
+            this.log.info("The circuit breaker of the " + this.type.name() + " Mongo instance closed, the instance recovered.");
+        }
+    }
+
+    private void recordCall(byte outcome) {
+        // Replace the oldest outcome in the window
+        if (this.windowCalls == this.window.length) {
+            this.count(this.window[this.windowPosition], -1);
+        } else {
+            this.windowCalls++;
+        }
+
+        this.window[this.windowPosition] = outcome;
+        this.windowPosition = (this.windowPosition + 1) % this.window.length;
+        this.count(outcome, 1);
+
+        if (this.windowCalls < this.settings.minimumCalls()) {
+            return;
+        }
+
+        double failureRate = (double) this.windowFailures / this.windowCalls;
+        double slowCallRate = (double) this.windowSlowCalls / this.windowCalls;
+        if (failureRate >= this.settings.failureRateThreshold()) {
+            this.open(String.format("%.0f%% of the recent operations failed", failureRate * 100));
+        } else if (slowCallRate >= this.settings.slowCallRateThreshold()) {
+            this.open(String.format("%.0f%% of the recent operations were slow", slowCallRate * 100));
+        }
+    }
+
+    private void count(byte outcome, int delta) {
+        if (outcome == FAILURE) {
+            this.windowFailures += delta;
+        } else if (outcome == SLOW) {
+            this.windowSlowCalls += delta;
+        }
+    }
+
+    private void open(@NonNull String reason) {
+        this.resetWindow();
+        this.openedAt = System.nanoTime();
+        this.state = State.OPEN;
+        this.openings.increment();
+        this.log.warning("The circuit breaker of the " + this.type.name() + " Mongo instance opened, " + reason + ".");
+    }
+
+    private void resetWindow() {
+        this.windowPosition = 0;
+        this.windowCalls = 0;
+        this.windowFailures = 0;
+        this.windowSlowCalls = 0;
+    }
+
+    private long getRetryAfterMillis() {
+        long remainingNanos = this.openNanos - (System.nanoTime() - this.openedAt);
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+    }
+
+    private static boolean isInstanceFailure(@NonNull Throwable throwable) {
+        return throwable instanceof MongoSocketException
+                || throwable instanceof MongoTimeoutException
+                || throwable instanceof MongoConnectionPoolClearedException
+                || throwable instanceof MongoNodeIsRecoveringException
+                || throwable instanceof MongoNotPrimaryException;
+    }
+
+    /**
+     * Represents the states of a circuit breaker.
+     */
+    public enum State {
+
+        /**
+         * Operations are run and their outcomes are recorded.
+         */
+        CLOSED,
+
+        /**
+         * Operations are rejected right away.
+         */
+        OPEN,
+
+        /**
+         * A limited amount of probe operations is run to check if the instance recovered.
+         */
+        HALF_OPEN
+
+    }
+
+    /**
+     * Represents the state of a circuit breaker at a point in time.
+     *
+     * @param state The state of the breaker.
+     * @param windowCalls The amount of operations in the sliding window.
+     * @param failureRate The rate of failed operations in the sliding window.
+     * @param slowCallRate The rate of slow operations in the sliding window.
+     * @param rejectedCalls The total amount of operations rejected because the breaker was open.
+     * @param openings The total amount of times the breaker opened.
+     */
+    public record Snapshot(@NonNull State state, int windowCalls, double failureRate, double slowCallRate, long rejectedCalls, long openings) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package net.hexilion.library.backend.database.mongo.breaker;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.core.env.Environment;
+
+/**
+ * Represents the thresholds of the circuit breaker of a Mongo instance.
+ *
+ * @param windowSize The amount of most recent operations the failure and slow call rates are computed over.
+ * @param minimumCalls The minimum amount of operations in the window before the breaker can open.
+ * @param failureRateThreshold The rate of failed operations, between 0 and 1, at which the breaker opens.
+ * @param slowCallMillis The duration from which an operation counts as slow.
+ * @param slowCallRateThreshold The rate of slow operations, between 0 and 1, at which the breaker opens.
+ * @param openMillis The time the breaker stays open before it lets probe operations through.
+ * @param halfOpenProbes The amount of probe operations that have to succeed to close the breaker again.
+ */
+public record MongoCircuitBreakerSettings(int windowSize, int minimumCalls, double failureRateThreshold, long slowCallMillis,
+                                          double slowCallRateThreshold, long openMillis, int halfOpenProbes) {
+
+    /**
+     * Read the settings from the 'mongo.circuit-breaker.*' properties.
+     *
+     * @param environment The environment to read the properties from.
+     * @return The circuit breaker settings.
+     */
+    public static @NonNull MongoCircuitBreakerSettings fromEnvironment(@NonNull Environment environment) {
+        return new MongoCircuitBreakerSettings(
+                environment.getProperty("mongo.circuit-breaker.window-size", Integer.class, 100),
+                environment.getProperty("mongo.circuit-breaker.minimum-calls", Integer.class, 20),
+                environment.getProperty("mongo.circuit-breaker.failure-rate-threshold", Double.class, 0.5),
+                environment.getProperty("mongo.circuit-breaker.slow-call-ms", Long.class, 2000L),
+                environment.getProperty("mongo.circuit-breaker.slow-call-rate-threshold", Double.class, 0.8),
+                environment.getProperty("mongo.circuit-breaker.open-ms", Long.class, 10000L),
+                environment.getProperty("mongo.circuit-breaker.half-open-probes", Integer.class, 3)
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package net.hexilion.library.backend.database.mongo.bulkhead;
+
+import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import net.hexilion.library.backend.exception.MongoBulkheadFullException;
+import net.hexilion.library.backend.request.RequestDeadline;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead limiting the operations on a single Mongo instance.
+ * <p>
+ * Every instance type has its own bulkhead, so a burst of operations on one instance can only tie up
+ * a bounded share of the request handling threads, and requests for the other instances keep being
+ * served. At most a fixed amount of operations run at the same time, a bounded queue of operations
+ * waits for one of them to finish, and operations beyond that are rejected right away with a
+ * {@link MongoBulkheadFullException}. Queued operations give up once their wait time or the deadline
+ * of their request passes.
+ * <p>
+ * The bulkhead is a fair semaphore with a bounded count of waiters rather than an executor with a queue per
+ * instance type. Operations run on the thread of the caller, which is already dedicated to its request, so
+ * an executor would only add a hand-off and a second thread per operation, and with a virtual thread per
+ * request there is no scarce worker pool for an executor to protect. The semaphore bounds the same things:
+ * the operations running at once, the operations waiting, and how long they wait. Permits are only taken
+ * in the fair order of arrival, so new operations never overtake operations that are already waiting.
+ */
+public class MongoBulkhead {
+
+    private final @NonNull MongoInstanceType type;
+    private final @NonNull MongoBulkheadSettings settings;
+    private final @NonNull Semaphore permits;
+    private final @NonNull AtomicInteger queued;
+    private final @NonNull LongAdder rejected;
+
+    public MongoBulkhead(@NonNull MongoInstanceType type, @NonNull MongoBulkheadSettings settings) {
+        this.type = type;
+        this.settings = settings;
+        this.permits = new Semaphore(Math.max(1, settings.maxConcurrent()), true);
+        this.queued = new AtomicInteger();
+        this.rejected = new LongAdder();
+    }
+
+    /**
+     * Run a blocking operation in the bulkhead.
+     *
+     * @param operation The operation to run on the instance.
+     * @return The result of the operation.
+     * @throws MongoBulkheadFullException If the bulkhead has no room left and the operation was not run.
+     */
+    public <T> T execute(@NonNull Supplier<T> operation) {
+        this.acquire();
+        try {
+            return operation.get();
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    /**
+     * Run a non-blocking operation in the bulkhead. The operation holds its place until the returned future completes.
+     *
+     * @param operation The operation to start on the instance.
+     * @return The future of the operation.
+     * @throws MongoBulkheadFullException If the bulkhead has no room left and the operation was not started.
+     */
+    public <T> @NonNull CompletableFuture<T> executeAsync(@NonNull Supplier<CompletableFuture<T>> operation) {
+        this.acquire();
+
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException exception) {
+            this.permits.release();
+            throw exception;
+        }
+
+        return future.whenComplete((result, throwable) -> this.permits.release());
+    }
+
+    /**
+     * @return A snapshot of the running and queued operations of the bulkhead.
+     */
+    public @NonNull Snapshot snapshot() {
+        int maxConcurrent = Math.max(1, this.settings.maxConcurrent());
+        return new Snapshot(
+                maxConcurrent,
+                maxConcurrent - this.permits.availablePermits(),
+                this.settings.maxQueued(),
+                this.queued.get(),
+                this.rejected.sum()
+        );
+    }
+
+    private void acquire() {
+        // Fast path, there is room to run right away and nobody is waiting, the timed acquire keeps the order fair
+        try {
+            if (this.permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            this.reject();
+        }
+
+        // The queue is full, reject right away instead of holding on to the thread
+        if (this.queued.incrementAndGet() > this.settings.maxQueued()) {
+            this.queued.decrementAndGet();
+            this.reject();
+        }
+
+        try {
+            // Do not wait past the deadline of the request
+            long waitMillis = this.settings.maxWaitMillis();
+            long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+            if (maxTimeMillis > 0) {
+                waitMillis = Math.min(waitMillis, maxTimeMillis);
+            }
+
+            if (!this.permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                this.reject();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            this.reject();
+        } finally {
+            this.queued.decrementAndGet();
+        }
+    }
+
+    private void reject() {
+        this.rejected.increment();
+        throw new MongoBulkheadFullException(this.type);
+    }
+
+    /**
+     * Represents the state of a bulkhead at a point in time.
+     *
+     * @param maxConcurrent The maximum amount of operations running at the same time.
+     * @param active The amount of operations currently running.
+     * @param maxQueued The maximum amount of operations waiting to run.
+     * @param queued The amount of operations currently waiting to run.
+     * @param rejected The total amount of operations rejected because the bulkhead had no room left.
+     */
+    public record Snapshot(int maxConcurrent, int active, int maxQueued, int queued, long rejected) {
+    }
+}
\ No newline at end of file
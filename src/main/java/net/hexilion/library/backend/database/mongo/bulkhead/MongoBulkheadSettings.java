@@ -0,0 +1,32 @@
+package net.hexilion.library.backend.database.mongo.bulkhead;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.core.env.Environment;
+
+/**
+ * Represents the limits of the bulkhead of a Mongo instance.
+ *
+ * @param maxConcurrent The maximum amount of operations running on the instance at the same time.
+ * @param maxQueued The maximum amount of operations waiting for one of the running operations to finish.
+ * @param maxWaitMillis The maximum time an operation waits in the queue before it is rejected.
+ */
+public record MongoBulkheadSettings(int maxConcurrent, int maxQueued, long maxWaitMillis) {
+
+    /**
+     * Read the settings from the 'mongo.&lt;type&gt;.bulkhead.*' properties.
+     * By default, as many operations run at the same time as the connection pool has connections.
+     *
+     * @param environment The environment to read the properties from.
+     * @param path The property path of the instance type, including the trailing dot.
+     * @param poolMaxSize The maximum amount of connections in the pool of the instance.
+     * @return The bulkhead settings.
+     */
+    public static @NonNull MongoBulkheadSettings fromEnvironment(@NonNull Environment environment, @NonNull String path, int poolMaxSize) {
+        int maxConcurrent = environment.getProperty(path + "bulkhead.max-concurrent", Integer.class, poolMaxSize);
+        return new MongoBulkheadSettings(
+                maxConcurrent,
+                environment.getProperty(path + "bulkhead.max-queued", Integer.class, maxConcurrent),
+                environment.getProperty(path + "bulkhead.max-wait-ms", Long.class, 1000L)
+        );
+    }
+}
\ No newline at end of file
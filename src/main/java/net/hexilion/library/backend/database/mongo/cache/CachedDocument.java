@@ -0,0 +1,12 @@
+package net.hexilion.library.backend.database.mongo.cache;
+
+import org.bson.RawBsonDocument;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Represents a document held in a collection snapshot.
+ *
+ * @param document The raw BSON document.
+ * @param digest Content hash of the document, computed once when it is put into the snapshot.
+ */
+public record CachedDocument(@NonNull RawBsonDocument document, @NonNull String digest) { }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package net.hexilion.library.backend.database.mongo.cache;
+
+import net.hexilion.library.backend.database.mongo.DocumentDigest;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents an in-memory snapshot of every document within a single collection.
+ * Documents are kept in their raw BSON form, ordered by their '_id' value, together with
+ * their content hash so conditional requests can be answered without hashing on every read.
+ */
+public class CollectionSnapshot {
+
+    private final @NonNull String database;
+    private final @NonNull String collection;
+    private final @NonNull ConcurrentSkipListMap<String, CachedDocument> documents;
+    private final @NonNull AtomicLong sizeInBytes;
+    private volatile long lastAccess;
+
+    public CollectionSnapshot(@NonNull String database, @NonNull String collection) {
+        this.database = database;
+        this.collection = collection;
+        this.documents = new ConcurrentSkipListMap<>();
+        this.sizeInBytes = new AtomicLong();
+        this.lastAccess = System.nanoTime();
+    }
+
+    /**
+     * Put a document into the snapshot, replacing the document with the same '_id' value.
+     *
+     * @param document The raw document to put.
+     */
+    public void put(@NonNull RawBsonDocument document) {
+        CachedDocument previous = this.documents.put(identifierOf(document.get("_id")), new CachedDocument(document, DocumentDigest.of(document)));
+        this.sizeInBytes.addAndGet(sizeOf(document) - sizeOf(previous));
+    }
+
+    /**
+     * Remove a document from the snapshot.
+     *
+     * @param identifier The '_id' value of the document to remove.
+     */
+    public void remove(@NonNull BsonValue identifier) {
+        CachedDocument previous = this.documents.remove(identifierOf(identifier));
+        this.sizeInBytes.addAndGet(-sizeOf(previous));
+    }
+
+    /**
+     * @param identifier The '_id' value of the document.
+     * @return The cached document, or null if no document with the identifier exists.
+     */
+    public @Nullable CachedDocument get(@NonNull String identifier) {
+        this.lastAccess = System.nanoTime();
+        return this.documents.get(identifier);
+    }
+
+    /**
+     * Get a page of documents ordered by their '_id' value.
+     *
+     * @param after The '_id' value of the last document in the previous page, or null to get the first page.
+     * @param limit The maximum amount of documents to include in the page, or 0 to include all documents.
+     * @return List of the cached documents in the page.
+     */
+    public @NonNull List<CachedDocument> page(@Nullable BsonValue after, int limit) {
+        this.lastAccess = System.nanoTime();
+
+        NavigableMap<String, CachedDocument> view = after == null ? this.documents : this.documents.tailMap(identifierOf(after), false);
+        int pageLimit = limit == 0 ? Integer.MAX_VALUE : limit;
+        List<CachedDocument> page = new ArrayList<>(Math.min(pageLimit, this.documents.size()));
+        for (CachedDocument document : view.values()) {
+            if (page.size() >= pageLimit) {
+                break;
+            }
+
+            page.add(document);
+        }
+
+        return page;
+    }
+
+    /**
+     * @return Name/identifier of the database the collection is in.
+     */
+    public @NonNull String getDatabase() {
+        return this.database;
+    }
+
+    /**
+     * @return Name/identifier of the collection this is a snapshot of.
+     */
+    public @NonNull String getCollection() {
+        return this.collection;
+    }
+
+    /**
+     * @return The total size of all raw documents in the snapshot.
+     */
+    public long getSizeInBytes() {
+        return this.sizeInBytes.get();
+    }
+
+    /**
+     * @return The {@link System#nanoTime()} of the last read from the snapshot.
+     */
+    public long getLastAccess() {
+        return this.lastAccess;
+    }
+
+    private static @NonNull String identifierOf(@NonNull BsonValue identifier) {
+        return identifier.isString() ? identifier.asString().getValue() : identifier.toString();
+    }
+
+    private static long sizeOf(@Nullable RawBsonDocument document) {
+        return document == null ? 0 : document.getByteBuffer().remaining();
+    }
+
+    private static long sizeOf(@Nullable CachedDocument document) {
+        return document == null ? 0 : sizeOf(document.document());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,397 @@
+package net.hexilion.library.backend.database.mongo.cache;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import net.hexilion.library.backend.database.mongo.MongoCollectionRegistry;
+import net.hexilion.library.backend.database.mongo.MongoInstance;
+import net.hexilion.library.backend.exception.MongoBulkheadFullException;
+import net.hexilion.library.backend.exception.MongoCircuitOpenException;
+import net.hexilion.library.backend.request.RequestDeadline;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Read-through cache holding snapshots of whole collections from a Mongo instance.
+ * <p>
+ * A collection is loaded in full the first time it is read and is then kept current
+ * by a change stream on its database. If change streams are not available on the
+ * instance, the loaded collections are reloaded on an interval instead. Only collections
+ * listed in the collection registry of the instance are cached, so requests for arbitrary
+ * collection names never create snapshots or change streams. Both the total size and the
+ * amount of snapshots are bounded, the least recently read collections are evicted first
+ * when a bound is exceeded.
+ * <p>
+ * Loads are tracked per collection and run as operations on the instance, within the deadline
+ * of the request that started them. Requests never wait for a load or for the change stream to
+ * open, they are served from the database until the snapshot is available. Changes that arrive
+ * while a collection is loading are held back and applied once the load finished, so the change
+ * stream never waits for a load either.
+ */
+public class MongoSnapshotCache {
+
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    private final @NonNull MongoInstance instance;
+    private final @NonNull Logger log;
+    private final long maxSizeInBytes;
+    private final int maxCollections;
+    private final long pollIntervalSeconds;
+
+    private final @NonNull Map<String, CollectionSnapshot> snapshots;
+    private final @NonNull Map<String, SnapshotLoad> loads;
+    private final @NonNull Set<String> oversizedCollections;
+    private final @NonNull Map<String, CountDownLatch> watchers;
+    private final @NonNull Set<String> polledDatabases;
+    private final @NonNull ScheduledExecutorService executor;
+    private final @NonNull ReentrantLock evictionLock;
+    private volatile boolean running;
+
+    public MongoSnapshotCache(@NonNull MongoInstance instance, @NonNull Logger log, boolean enabled, long maxSizeInBytes, int maxCollections, long pollIntervalSeconds) {
+        this.instance = instance;
+        this.log = log;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.maxCollections = maxCollections;
+        this.pollIntervalSeconds = pollIntervalSeconds;
+
+        this.snapshots = new ConcurrentHashMap<>();
+        this.loads = new ConcurrentHashMap<>();
+        this.oversizedCollections = ConcurrentHashMap.newKeySet();
+        this.watchers = new ConcurrentHashMap<>();
+        this.polledDatabases = ConcurrentHashMap.newKeySet();
+        this.executor = Executors.newScheduledThreadPool(1, runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictionLock = new ReentrantLock();
+        this.running = enabled;
+    }
+
+    /**
+     * Get the snapshot of a collection, loading it from the database if it is not cached yet.
+     * The load runs on the calling thread, within the deadline of its request.
+     *
+     * @param database Name/identifier of the database to get the collection from.
+     * @param collection Name/identifier of the collection to get the snapshot of.
+     * @return The snapshot of the collection, or null if the cache is disabled, the collection is not known to exist or is too large to be cached,
+     *         or the collection is not available yet because it is being loaded by another request or changes to it cannot be watched yet.
+     */
+    public @Nullable CollectionSnapshot getSnapshot(@NonNull String database, @NonNull String collection) {
+        final String namespace = namespaceOf(database, collection);
+
+        // Fast path, the snapshot is already loaded
+        CollectionSnapshot snapshot = this.snapshots.get(namespace);
+        if (snapshot != null || !this.running || this.oversizedCollections.contains(namespace)) {
+            return snapshot;
+        }
+
+        // Only cache collections that are listed, the registry accepts every collection until it is loaded
+        MongoCollectionRegistry collectionRegistry = this.instance.getCollectionRegistry();
+        if (!collectionRegistry.isLoaded() || !collectionRegistry.contains(database, collection)) {
+            return null;
+        }
+
+        // Watch the database before loading, so no change is missed in between, until then read from the database
+        if (!this.startWatcher(database)) {
+            return null;
+        }
+
+        return this.loadSnapshot(database, collection);
+    }
+
+    /**
+     * Stop watching for changes and release all snapshots.
+     */
+    public void shutdown() {
+        this.running = false;
+        this.executor.shutdownNow();
+        this.snapshots.clear();
+    }
+
+    private @Nullable CollectionSnapshot loadSnapshot(@NonNull String database, @NonNull String collection) {
+        final String namespace = namespaceOf(database, collection);
+
+        // Only one load per collection, other reads of the collection go to the database meanwhile
+        SnapshotLoad load = new SnapshotLoad();
+        if (this.loads.putIfAbsent(namespace, load) != null) {
+            return null;
+        }
+
+        try {
+            CollectionSnapshot snapshot = this.instance.execute(() -> this.readSnapshot(database, collection));
+            if (snapshot == null) {
+                return null;
+            }
+
+            // Apply the changes made while loading before the snapshot is read from
+            load.lock.lock();
+            try {
+                if (load.invalidated) {
+                    return null;
+                }
+
+                for (ChangeStreamDocument<RawBsonDocument> change : load.changes) {
+                    applyDocumentChange(snapshot, change);
+                }
+
+                this.snapshots.put(namespace, snapshot);
+                load.completed = true;
+            } finally {
+                load.lock.unlock();
+            }
+
+            this.evictColdSnapshots(snapshot);
+            return snapshot;
+        } finally {
+            this.loads.remove(namespace, load);
+        }
+    }
+
+    private @Nullable CollectionSnapshot readSnapshot(@NonNull String database, @NonNull String collection) {
+        long maxTimeMillis = RequestDeadline.getMaxTimeMillis();
+
+        MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(database, collection);
+        if (foundCollection == null) {
+            return null;
+        }
+
+        final String namespace = namespaceOf(database, collection);
+        CollectionSnapshot snapshot = new CollectionSnapshot(database, collection);
+
+        try (MongoCursor<RawBsonDocument> cursor = foundCollection.withDocumentClass(RawBsonDocument.class)
+                .find()
+                .maxTime(maxTimeMillis, TimeUnit.MILLISECONDS)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                snapshot.put(cursor.next());
+
+                // The collection alone does not fit in the cache, serve it from the database instead
+                if (snapshot.getSizeInBytes() > this.maxSizeInBytes) {
+                    this.log.warning("The collection " + namespace + " exceeds the snapshot cache size and will not be cached!");
+                    this.oversizedCollections.add(namespace);
+                    this.snapshots.remove(namespace);
+                    return null;
+                }
+            }
+        }
+
+        return snapshot;
+    }
+
+    private void evictColdSnapshots(@NonNull CollectionSnapshot keep) {
+        this.evictionLock.lock();
+        try {
+            long totalSize = 0;
+            for (CollectionSnapshot snapshot : this.snapshots.values()) {
+                totalSize += snapshot.getSizeInBytes();
+            }
+
+            // Evict the least recently read snapshots until the cache fits within its bounds again
+            int count = this.snapshots.size();
+            while (totalSize > this.maxSizeInBytes || count > this.maxCollections) {
+                CollectionSnapshot coldest = null;
+                for (CollectionSnapshot snapshot : this.snapshots.values()) {
+                    if (snapshot != keep && (coldest == null || snapshot.getLastAccess() < coldest.getLastAccess())) {
+                        coldest = snapshot;
+                    }
+                }
+
+                if (coldest == null) {
+                    return;
+                }
+
+                this.snapshots.remove(namespaceOf(coldest.getDatabase(), coldest.getCollection()));
+                totalSize -= coldest.getSizeInBytes();
+                count--;
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Start watching a database for changes, if it is not watched yet.
+     *
+     * @param database Name/identifier of the database to watch.
+     * @return Whether the change stream of the database is open, or changes are polled for instead.
+     */
+    private boolean startWatcher(@NonNull String database) {
+        CountDownLatch opened = this.watchers.computeIfAbsent(database, key -> {
+            CountDownLatch latch = new CountDownLatch(1);
+            Thread thread = new Thread(() -> this.runWatcher(database, latch), "snapshot-cache-watcher-" + database);
+            thread.setDaemon(true);
+            thread.start();
+            return latch;
+        });
+
+        return opened.getCount() == 0;
+    }
+
+    private void runWatcher(@NonNull String database, @NonNull CountDownLatch opened) {
+        while (this.running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<RawBsonDocument>> cursor = this.instance.getDatabaseByIdentifier(database)
+                    .watch(RawBsonDocument.class)
+                    .fullDocument(FullDocument.UPDATE_LOOKUP)
+                    .maxAwaitTime(1, TimeUnit.SECONDS)
+                    .cursor()) {
+                opened.countDown();
+
+                while (this.running) {
+                    ChangeStreamDocument<RawBsonDocument> event = cursor.tryNext();
+                    if (event != null) {
+                        this.applyChange(database, event);
+                    }
+                }
+            } catch (MongoCommandException exception) {
+                // Change streams are not supported by the instance (e.g. no replica set), fall back to polling
+                this.log.warning("Change streams are not available for database " + database + " (" + exception.getErrorMessage() + "), falling back to polling.");
+                this.startPolling(database);
+                opened.countDown();
+                return;
+            } catch (MongoException exception) {
+                if (!this.running) {
+                    return;
+                }
+
+                // Events might have been missed, drop the snapshots of the database and retry
+                this.log.warning("The change stream for database " + database + " failed, retrying: " + exception.getMessage());
+                this.invalidateDatabase(database);
+                opened.countDown();
+
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interruptedException) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void applyChange(@NonNull String database, @NonNull ChangeStreamDocument<RawBsonDocument> event) {
+        final String namespace = namespaceOf(database, event.getNamespace().getCollectionName());
+        switch (event.getOperationType()) {
+            case INSERT, UPDATE, REPLACE, DELETE -> {
+                // The collection is loading, hold the change back until the load finished
+                SnapshotLoad load = this.loads.get(namespace);
+                if (load != null) {
+                    load.lock.lock();
+                    try {
+                        if (!load.completed) {
+                            load.changes.add(event);
+                            return;
+                        }
+                    } finally {
+                        load.lock.unlock();
+                    }
+                }
+
+                CollectionSnapshot snapshot = this.snapshots.get(namespace);
+                if (snapshot != null) {
+                    applyDocumentChange(snapshot, event);
+                    this.evictColdSnapshots(snapshot);
+                }
+            }
+            case DROP, RENAME -> {
+                this.invalidateLoad(namespace);
+                this.snapshots.remove(namespace);
+                this.oversizedCollections.remove(namespace);
+            }
+            default -> this.invalidateDatabase(database);
+        }
+    }
+
+    private static void applyDocumentChange(@NonNull CollectionSnapshot snapshot, @NonNull ChangeStreamDocument<RawBsonDocument> event) {
+        // The full document is missing for deletes and for updates of documents deleted right after
+        RawBsonDocument fullDocument = event.getFullDocument();
+        BsonDocument documentKey = event.getDocumentKey();
+        if (fullDocument != null) {
+            snapshot.put(fullDocument);
+        } else if (documentKey != null) {
+            snapshot.remove(documentKey.get("_id"));
+        }
+    }
+
+    private void invalidateDatabase(@NonNull String database) {
+        final String prefix = database + ".";
+        for (String namespace : this.loads.keySet()) {
+            if (namespace.startsWith(prefix)) {
+                this.invalidateLoad(namespace);
+            }
+        }
+
+        this.snapshots.keySet().removeIf(namespace -> namespace.startsWith(prefix));
+        this.oversizedCollections.removeIf(namespace -> namespace.startsWith(prefix));
+    }
+
+    private void invalidateLoad(@NonNull String namespace) {
+        SnapshotLoad load = this.loads.get(namespace);
+        if (load == null) {
+            return;
+        }
+
+        // The loaded documents might be outdated, the load is discarded once it finished
+        load.lock.lock();
+        try {
+            load.invalidated = true;
+        } finally {
+            load.lock.unlock();
+        }
+    }
+
+    private void startPolling(@NonNull String database) {
+        if (!this.polledDatabases.add(database)) {
+            return;
+        }
+
+        this.executor.scheduleWithFixedDelay(() -> {
+            // Reload every loaded snapshot of the database
+            for (CollectionSnapshot snapshot : this.snapshots.values()) {
+                if (!snapshot.getDatabase().equals(database)) {
+                    continue;
+                }
+
+                try {
+                    this.loadSnapshot(database, snapshot.getCollection());
+                } catch (MongoException | MongoCircuitOpenException | MongoBulkheadFullException exception) {
+                    this.log.warning("Could not reload the snapshot of " + snapshot.getCollection() + ": " + exception.getMessage());
+                }
+            }
+        }, this.pollIntervalSeconds, this.pollIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private static @NonNull String namespaceOf(@NonNull String database, @NonNull String collection) {
+        return database + "." + collection;
+    }
+
+    /**
+     * Represents the load of a collection that is in progress, holding back the changes made meanwhile.
+     */
+    private static final class SnapshotLoad {
+
+        private final @NonNull ReentrantLock lock = new ReentrantLock();
+        private final @NonNull List<ChangeStreamDocument<RawBsonDocument>> changes = new ArrayList<>();
+        private boolean completed;
+        private boolean invalidated;
+
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package net.hexilion.library.backend.database.mongo.enums;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents the different actions that can be performed on a JSON document as part of a bulk write.
+ */
+public enum BulkDocumentAction {
+
+    /**
+     * Create a new JSON document.
+     */
+    @JsonProperty("create")
+    CREATE,
+
+    /**
+     * Update the contents of an existing JSON document.
+     */
+    @JsonProperty("update")
+    UPDATE,
+
+    /**
+     * Permanently delete an existing JSON document.
+     */
+    @JsonProperty("delete")
+    DELETE;
+
+}
\ No newline at end of file
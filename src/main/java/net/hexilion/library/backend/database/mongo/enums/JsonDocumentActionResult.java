@@ -20,6 +20,11 @@ public enum JsonDocumentActionResult {
      */
     ALREADY_EXISTS,
 
+    /**
+     * The action for the JSON document could not be performed by the database.
+     */
+    FAILED,
+
     /**
      * The action for the JSON document was successful issues.
      */
@@ -0,0 +1,39 @@
+package net.hexilion.library.backend.database.mongo.index;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares an index that the queries of a Mongo repository rely on.
+ * <p>
+ * The index is created in the background when the repository is registered,
+ * if it does not exist in the collection of the repository's Mongo instance.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(MongoIndexes.class)
+public @interface MongoIndex {
+
+    /**
+     * @return Name/identifier of the database the collection is in.
+     */
+    String database();
+
+    /**
+     * @return Name/identifier of the collection to index.
+     */
+    String collection();
+
+    /**
+     * @return The indexed fields in order, addressed with dot paths. Fields prefixed with '-' are indexed in descending order.
+     */
+    String[] keys();
+
+    /**
+     * @return Whether the index only allows one document per key.
+     */
+    boolean unique() default false;
+}
\ No newline at end of file
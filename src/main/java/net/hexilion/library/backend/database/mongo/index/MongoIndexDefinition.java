@@ -0,0 +1,84 @@
+package net.hexilion.library.backend.database.mongo.index;
+
+import org.bson.Document;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an index declared through {@link MongoIndex}.
+ *
+ * @param database Name/identifier of the database the collection is in.
+ * @param collection Name/identifier of the collection to index.
+ * @param keys The index key document, mapping each field to 1 for ascending or -1 for descending order.
+ * @param unique Whether the index only allows one document per key.
+ */
+public record MongoIndexDefinition(@NonNull String database, @NonNull String collection, @NonNull Document keys, boolean unique) {
+
+    private static final @NonNull String DESCENDING_PREFIX = "-";
+
+    /**
+     * Get the indexes declared on a class.
+     *
+     * @param type The class to read the {@link MongoIndex} declarations of.
+     * @return List of the declared indexes.
+     */
+    public static @NonNull List<MongoIndexDefinition> of(@NonNull Class<?> type) {
+        MongoIndex[] declarations = type.getAnnotationsByType(MongoIndex.class);
+        List<MongoIndexDefinition> definitions = new ArrayList<>(declarations.length);
+
+        for (MongoIndex declaration : declarations) {
+            Document keys = new Document();
+            for (String key : declaration.keys()) {
+                if (key.startsWith(DESCENDING_PREFIX)) {
+                    keys.put(key.substring(DESCENDING_PREFIX.length()), -1);
+                } else {
+                    keys.put(key, 1);
+                }
+            }
+
+            definitions.add(new MongoIndexDefinition(declaration.database(), declaration.collection(), keys, declaration.unique()));
+        }
+
+        return definitions;
+    }
+
+    /**
+     * Check if an existing index key document describes this index. Key directions
+     * are compared by sign, since the server may store them as any numeric type.
+     *
+     * @param indexKeys The key document of an existing index.
+     * @return Whether the existing index has the same keys in the same order and direction.
+     */
+    public boolean matches(@NonNull Document indexKeys) {
+        if (indexKeys.size() != this.keys.size()) {
+            return false;
+        }
+
+        List<Map.Entry<String, Object>> expected = new ArrayList<>(this.keys.entrySet());
+        List<Map.Entry<String, Object>> actual = new ArrayList<>(indexKeys.entrySet());
+        for (int index = 0; index < expected.size(); index++) {
+            if (!expected.get(index).getKey().equals(actual.get(index).getKey())
+                    || !(actual.get(index).getValue() instanceof Number direction)
+                    || Math.signum(direction.doubleValue()) != ((Number) expected.get(index).getValue()).intValue()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The name of the first indexed field.
+     */
+    public @NonNull String getFirstKey() {
+        return this.keys.keySet().iterator().next();
+    }
+
+    @Override
+    public String toString() {
+        return this.database + "." + this.collection + " " + this.keys.toJson() + (this.unique ? " (unique)" : "");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package net.hexilion.library.backend.database.mongo.index;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import net.hexilion.library.backend.database.mongo.MongoInstance;
+import org.bson.BsonMinKey;
+import org.bson.Document;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Creates and verifies declared indexes on Mongo instances in the background,
+ * so neither the application startup nor requests wait on index builds.
+ */
+public class MongoIndexProvisioner {
+
+    private static final @NonNull String COLLECTION_SCAN_STAGE = "\"COLLSCAN\"";
+
+    private final @NonNull Logger log;
+    private final @NonNull ExecutorService executor;
+
+    public MongoIndexProvisioner(@NonNull Logger log) {
+        this.log = log;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mongo-index-provisioner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue the indexes to be created or verified on a Mongo instance.
+     *
+     * @param instance The Mongo instance to create the indexes on.
+     * @param definitions The indexes to create or verify.
+     */
+    public void provision(@NonNull MongoInstance instance, @NonNull Collection<MongoIndexDefinition> definitions) {
+        if (definitions.isEmpty()) {
+            return;
+        }
+
+        // The collections are required by the application, creating an index creates its collection if it is missing
+        List<MongoIndexDefinition> snapshot = List.copyOf(definitions);
+        for (MongoIndexDefinition definition : snapshot) {
+            instance.getCollectionRegistry().declare(definition.database(), definition.collection());
+        }
+
+        this.executor.execute(() -> {
+            for (MongoIndexDefinition definition : snapshot) {
+                try {
+                    this.ensureIndex(instance, definition);
+                } catch (MongoException exception) {
+                    this.log.severe("Could not provision index " + definition + " on Mongo instance "
+                            + instance.getIdentifier() + ": " + exception.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Stop provisioning, indexes that are still being built continue server-side.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    private void ensureIndex(@NonNull MongoInstance instance, @NonNull MongoIndexDefinition definition) {
+        MongoCollection<Document> collection = instance.getCollectionByIdentifier(definition.database(), definition.collection());
+        if (collection == null) {
+            this.log.warning("Could not provision index " + definition + ", the collection does not exist!");
+            return;
+        }
+
+        // Look for an existing index with the same keys
+        Document existing = null;
+        for (Document index : collection.listIndexes()) {
+            Document keys = index.get("key", Document.class);
+            if (keys != null && definition.matches(keys)) {
+                existing = index;
+                break;
+            }
+        }
+
+        // Create the index if it is missing
+        if (existing == null) {
+            this.log.warning("Index " + definition + " is missing on Mongo instance " + instance.getIdentifier() + ", creating it...");
+            collection.createIndex(definition.keys(), new IndexOptions().unique(definition.unique()));
+            this.log.info("Created index " + definition + " on Mongo instance " + instance.getIdentifier() + ".");
+        } else if (definition.unique() && !existing.getBoolean("unique", false)) {
+            this.log.warning("Index " + definition + " exists on Mongo instance " + instance.getIdentifier()
+                    + " but is not unique, it has to be rebuilt manually!");
+        }
+
+        // Verify that the query planner actually picks the index for lookups on its first key
+        Document plan = collection.find(Filters.eq(definition.getFirstKey(), new BsonMinKey()))
+                .explain(ExplainVerbosity.QUERY_PLANNER);
+        if (plan.toJson().contains(COLLECTION_SCAN_STAGE)) {
+            this.log.warning("Lookups on " + definition.database() + "." + definition.collection() + "."
+                    + definition.getFirstKey() + " fall back to a collection scan on Mongo instance " + instance.getIdentifier() + "!");
+        }
+    }
+}
\ No newline at end of file
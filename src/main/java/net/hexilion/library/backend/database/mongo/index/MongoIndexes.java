@@ -0,0 +1,16 @@
+package net.hexilion.library.backend.database.mongo.index;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container for repeated {@link MongoIndex} declarations.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MongoIndexes {
+
+    MongoIndex[] value();
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package net.hexilion.library.backend.database.mongo.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Records the latency of every command a Mongo instance executes, per database, collection and command name.
+ * <p>
+ * Commands slower than the threshold are written to a slow log. Only a sample of the commands is eligible,
+ * since the shape of the command has to be captured when it starts, before it is known to be slow. The
+ * shape keeps the field names and operators of the command but replaces every value with '?'.
+ */
+public class CommandMetrics implements CommandListener {
+
+    private static final int MAX_SERIES = 1000;
+    private static final @NonNull String OTHER_LABEL = "_other";
+    private static final @NonNull BsonString REDACTED_VALUE = new BsonString("?");
+    private static final @NonNull Set<String> UNLOGGED_FIELDS = Set.of("lsid", "txnNumber", "$db", "$clusterTime", "$readPreference", "apiVersion");
+
+    private final @NonNull MongoInstanceType type;
+    private final @NonNull Logger log;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+
+    private final @NonNull Map<Integer, StartedCommand> startedCommands;
+    private final @NonNull Map<Series, LatencyHistogram> histograms;
+
+    public CommandMetrics(@NonNull MongoInstanceType type, @NonNull Logger log, long slowThresholdMillis, double sampleRate) {
+        this.type = type;
+        this.log = log;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.sampleRate = sampleRate;
+
+        this.startedCommands = new ConcurrentHashMap<>();
+        this.histograms = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        // The command document cannot be kept after this event, so the shape of sampled commands is captured now
+        String shape = null;
+        if (this.sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < this.sampleRate) {
+            shape = redact(event.getCommand()).toJson();
+        }
+
+        this.startedCommands.put(event.getRequestId(), new StartedCommand(
+                event.getDatabaseName(),
+                collectionOf(event.getCommandName(), event.getCommand()),
+                shape
+        ));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        this.record(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        this.record(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+    }
+
+    private void record(int requestId, @NonNull String commandName, long elapsedNanos, boolean failed) {
+        StartedCommand command = this.startedCommands.remove(requestId);
+        if (command == null) {
+            return;
+        }
+
+        // Keep the amount of series bounded, the databases and collections come from request parameters
+        Series series = new Series(command.database(), command.collection(), commandName);
+        LatencyHistogram histogram = this.histograms.get(series);
+        if (histogram == null) {
+            if (this.histograms.size() >= MAX_SERIES) {
+                series = new Series(OTHER_LABEL, OTHER_LABEL, commandName);
+            }
+
+            histogram = this.histograms.computeIfAbsent(series, key -> new LatencyHistogram());
+        }
+
+        histogram.record(elapsedNanos, failed);
+
+        // Log sampled slow commands
+        if (command.shape() != null && elapsedNanos >= this.slowThresholdNanos) {
+            this.log.warning(String.format("Slow Mongo command on %s instance: %s on %s.%s took %dms%s: %s",
+                    this.type.name(), commandName, command.database(), command.collection(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), failed ? " and failed" : "", command.shape()));
+        }
+    }
+
+    /**
+     * @return The latency histograms of every recorded series.
+     */
+    public @NonNull Map<Series, LatencyHistogram> getHistograms() {
+        return this.histograms;
+    }
+
+    /**
+     * @return The Mongo instance type the commands are executed on.
+     */
+    public @NonNull MongoInstanceType getType() {
+        return this.type;
+    }
+
+    private static @NonNull String collectionOf(@NonNull String commandName, @NonNull BsonDocument command) {
+        // Cursor continuations name the collection in a separate field
+        BsonValue value = command.get(commandName.equals("getMore") ? "collection" : commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "";
+    }
+
+    private static @NonNull BsonValue redact(@NonNull BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument redacted = new BsonDocument();
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!UNLOGGED_FIELDS.contains(entry.getKey())) {
+                    redacted.put(entry.getKey(), redact(entry.getValue()));
+                }
+            }
+
+            return redacted;
+        } else if (value.isArray()) {
+            // The first element represents the shape of all elements
+            BsonArray array = value.asArray();
+            return array.isEmpty() ? new BsonArray() : new BsonArray(List.of(redact(array.get(0))));
+        }
+
+        return REDACTED_VALUE;
+    }
+
+    /**
+     * Identifies a latency histogram.
+     *
+     * @param database Name of the database the commands were executed on.
+     * @param collection Name of the collection the commands were executed on, empty for commands without a collection.
+     * @param command Name of the command.
+     */
+    public record Series(@NonNull String database, @NonNull String collection, @NonNull String command) { }
+
+    private record StartedCommand(@NonNull String database, @NonNull String collection, @Nullable String shape) { }
+}
\ No newline at end of file
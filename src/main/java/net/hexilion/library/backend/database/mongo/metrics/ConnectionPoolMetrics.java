@@ -0,0 +1,126 @@
+package net.hexilion.library.backend.database.mongo.metrics;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the connection pool metrics of a Mongo instance from the events of its driver.
+ * <p>
+ * The checkout latency is measured between the start of a checkout and the connection being checked out
+ * for the same operation. Asynchronous checkouts complete on other threads than they started on,
+ * so the start times are kept by the identifier of the operation instead of per thread.
+ */
+public class ConnectionPoolMetrics implements ConnectionPoolListener {
+
+    private final @NonNull Map<Long, Long> checkOutStarts;
+    private final @NonNull AtomicInteger openConnections;
+    private final @NonNull AtomicInteger checkedOutConnections;
+    private final @NonNull AtomicInteger waitQueueSize;
+    private final @NonNull LongAdder checkOuts;
+    private final @NonNull LongAdder failedCheckOuts;
+    private final @NonNull LongAdder timedCheckOuts;
+    private final @NonNull LongAdder checkOutNanos;
+    private final @NonNull LongAccumulator maxCheckOutNanos;
+
+    public ConnectionPoolMetrics() {
+        this.checkOutStarts = new ConcurrentHashMap<>();
+        this.openConnections = new AtomicInteger();
+        this.checkedOutConnections = new AtomicInteger();
+        this.waitQueueSize = new AtomicInteger();
+        this.checkOuts = new LongAdder();
+        this.failedCheckOuts = new LongAdder();
+        this.timedCheckOuts = new LongAdder();
+        this.checkOutNanos = new LongAdder();
+        this.maxCheckOutNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        this.openConnections.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        this.openConnections.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        this.waitQueueSize.incrementAndGet();
+        this.checkOutStarts.put(event.getOperationId(), System.nanoTime());
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        this.waitQueueSize.decrementAndGet();
+        this.checkedOutConnections.incrementAndGet();
+        this.checkOuts.increment();
+
+        // Time the checkout from the start event of the same operation
+        Long start = this.checkOutStarts.remove(event.getOperationId());
+        if (start != null) {
+            long elapsed = System.nanoTime() - start;
+            this.timedCheckOuts.increment();
+            this.checkOutNanos.add(elapsed);
+            this.maxCheckOutNanos.accumulate(elapsed);
+        }
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        this.waitQueueSize.decrementAndGet();
+        this.failedCheckOuts.increment();
+        this.checkOutStarts.remove(event.getOperationId());
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        this.checkedOutConnections.decrementAndGet();
+    }
+
+    /**
+     * @return The current values of the metrics.
+     */
+    public @NonNull Snapshot snapshot() {
+        long timed = this.timedCheckOuts.sum();
+        double averageMillis = timed == 0 ? 0 : (double) this.checkOutNanos.sum() / timed / TimeUnit.MILLISECONDS.toNanos(1);
+
+        return new Snapshot(
+                this.openConnections.get(),
+                this.checkedOutConnections.get(),
+                Math.max(0, this.waitQueueSize.get()),
+                this.checkOuts.sum(),
+                this.failedCheckOuts.sum(),
+                averageMillis,
+                (double) this.maxCheckOutNanos.get() / TimeUnit.MILLISECONDS.toNanos(1)
+        );
+    }
+
+    /**
+     * Represents the values of the connection pool metrics at a point in time.
+     * This is used in JSON responses.
+     *
+     * @param openConnections The amount of connections in the pool, both idle and checked out.
+     * @param checkedOutConnections The amount of connections currently in use.
+     * @param waitQueueSize The amount of operations currently waiting for a connection.
+     * @param checkOuts The total amount of successful checkouts.
+     * @param failedCheckOuts The total amount of checkouts that failed, e.g. because the wait time was exceeded.
+     * @param averageCheckOutMillis The average time a timed checkout took.
+     * @param maxCheckOutMillis The longest time a timed checkout took.
+     */
+    public record Snapshot(int openConnections, int checkedOutConnections, int waitQueueSize, long checkOuts,
+                           long failedCheckOuts, double averageCheckOutMillis, double maxCheckOutMillis) { }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package net.hexilion.library.backend.database.mongo.metrics;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed bucket bounds.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Upper bounds of the buckets in seconds, the last bucket is unbounded.
+     */
+    public static final double @NonNull [] BUCKET_BOUNDS = {0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private static final long @NonNull [] BUCKET_BOUNDS_NANOS = new long[BUCKET_BOUNDS.length];
+
+    static {
+        for (int index = 0; index < BUCKET_BOUNDS.length; index++) {
+            BUCKET_BOUNDS_NANOS[index] = (long) (BUCKET_BOUNDS[index] * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private final @NonNull LongAdder[] buckets;
+    private final @NonNull LongAdder sumNanos;
+    private final @NonNull LongAdder failures;
+
+    public LatencyHistogram() {
+        this.buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+        for (int index = 0; index < this.buckets.length; index++) {
+            this.buckets[index] = new LongAdder();
+        }
+
+        this.sumNanos = new LongAdder();
+        this.failures = new LongAdder();
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos The latency in nanoseconds.
+     * @param failed Whether the measured operation failed.
+     */
+    public void record(long nanos, boolean failed) {
+        int index = 0;
+        while (index < BUCKET_BOUNDS_NANOS.length && nanos > BUCKET_BOUNDS_NANOS[index]) {
+            index++;
+        }
+
+        this.buckets[index].increment();
+        this.sumNanos.add(nanos);
+        if (failed) {
+            this.failures.increment();
+        }
+    }
+
+    /**
+     * @return The cumulative count per bucket, the last value is the total count.
+     */
+    public long @NonNull [] cumulativeCounts() {
+        long[] counts = new long[this.buckets.length];
+        long total = 0;
+        for (int index = 0; index < this.buckets.length; index++) {
+            total += this.buckets[index].sum();
+            counts[index] = total;
+        }
+
+        return counts;
+    }
+
+    /**
+     * @return The sum of all recorded latencies in seconds.
+     */
+    public double sumSeconds() {
+        return (double) this.sumNanos.sum() / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * @return The amount of recorded operations that failed.
+     */
+    public long failures() {
+        return this.failures.sum();
+    }
+}
\ No newline at end of file
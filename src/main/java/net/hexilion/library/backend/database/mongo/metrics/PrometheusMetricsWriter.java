@@ -0,0 +1,120 @@
+package net.hexilion.library.backend.database.mongo.metrics;
+
+import net.hexilion.library.backend.database.mongo.MongoInstance;
+import net.hexilion.library.backend.database.mongo.breaker.MongoCircuitBreaker;
+import net.hexilion.library.backend.database.mongo.bulkhead.MongoBulkhead;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Writes the metrics of Mongo instances in the Prometheus text exposition format.
+ */
+public final class PrometheusMetricsWriter {
+
+    /**
+     * The content type of the Prometheus text exposition format.
+     */
+    public static final @NonNull String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private PrometheusMetricsWriter() {
+    }
+
+    /**
+     * Write the command latency, connection pool, circuit breaker and bulkhead metrics of Mongo instances.
+     *
+     * @param instances The Mongo instances to write the metrics of.
+     * @return The metrics in the Prometheus text exposition format.
+     */
+    public static @NonNull String write(@NonNull Collection<MongoInstance> instances) {
+        StringBuilder builder = new StringBuilder();
+
+        // Command latencies
+        builder.append("# HELP mongo_command_duration_seconds Latency of the commands executed on a Mongo instance.\n");
+        builder.append("# TYPE mongo_command_duration_seconds histogram\n");
+        for (MongoInstance instance : instances) {
+            for (Map.Entry<CommandMetrics.Series, LatencyHistogram> entry : instance.getCommandMetrics().getHistograms().entrySet()) {
+                CommandMetrics.Series series = entry.getKey();
+                String labels = "instance=\"" + escape(instance.getInstanceType().name()) + "\",database=\"" + escape(series.database())
+                        + "\",collection=\"" + escape(series.collection()) + "\",command=\"" + escape(series.command()) + "\"";
+
+                long[] counts = entry.getValue().cumulativeCounts();
+                for (int index = 0; index < LatencyHistogram.BUCKET_BOUNDS.length; index++) {
+                    builder.append("mongo_command_duration_seconds_bucket{").append(labels).append(",le=\"")
+                            .append(LatencyHistogram.BUCKET_BOUNDS[index]).append("\"} ").append(counts[index]).append('\n');
+                }
+
+                long total = counts[counts.length - 1];
+                builder.append("mongo_command_duration_seconds_bucket{").append(labels).append(",le=\"+Inf\"} ").append(total).append('\n');
+                builder.append("mongo_command_duration_seconds_sum{").append(labels).append("} ").append(entry.getValue().sumSeconds()).append('\n');
+                builder.append("mongo_command_duration_seconds_count{").append(labels).append("} ").append(total).append('\n');
+            }
+        }
+
+        builder.append("# HELP mongo_command_failures_total Commands executed on a Mongo instance that failed.\n");
+        builder.append("# TYPE mongo_command_failures_total counter\n");
+        for (MongoInstance instance : instances) {
+            for (Map.Entry<CommandMetrics.Series, LatencyHistogram> entry : instance.getCommandMetrics().getHistograms().entrySet()) {
+                CommandMetrics.Series series = entry.getKey();
+                builder.append("mongo_command_failures_total{instance=\"").append(escape(instance.getInstanceType().name()))
+                        .append("\",database=\"").append(escape(series.database()))
+                        .append("\",collection=\"").append(escape(series.collection()))
+                        .append("\",command=\"").append(escape(series.command()))
+                        .append("\"} ").append(entry.getValue().failures()).append('\n');
+            }
+        }
+
+        // Connection pools
+        writePoolMetric(builder, instances, "mongo_pool_open_connections", "gauge", "Connections in the pool, both idle and checked out.", ConnectionPoolMetrics.Snapshot::openConnections);
+        writePoolMetric(builder, instances, "mongo_pool_checked_out_connections", "gauge", "Connections currently in use.", ConnectionPoolMetrics.Snapshot::checkedOutConnections);
+        writePoolMetric(builder, instances, "mongo_pool_wait_queue_size", "gauge", "Operations currently waiting for a connection.", ConnectionPoolMetrics.Snapshot::waitQueueSize);
+        writePoolMetric(builder, instances, "mongo_pool_check_outs_total", "counter", "Successful connection checkouts.", ConnectionPoolMetrics.Snapshot::checkOuts);
+        writePoolMetric(builder, instances, "mongo_pool_failed_check_outs_total", "counter", "Connection checkouts that failed.", ConnectionPoolMetrics.Snapshot::failedCheckOuts);
+
+        // Circuit breakers
+        writeInstanceMetric(builder, instances, "mongo_circuit_breaker_state", "gauge", "State of the circuit breaker, 0 closed, 1 open and 2 half-open.", instance -> instance.getCircuitBreaker().snapshot(), snapshot -> snapshot.state().ordinal());
+        writeInstanceMetric(builder, instances, "mongo_circuit_breaker_rejected_calls_total", "counter", "Operations rejected because the circuit breaker was open.", instance -> instance.getCircuitBreaker().snapshot(), MongoCircuitBreaker.Snapshot::rejectedCalls);
+        writeInstanceMetric(builder, instances, "mongo_circuit_breaker_openings_total", "counter", "Times the circuit breaker opened.", instance -> instance.getCircuitBreaker().snapshot(), MongoCircuitBreaker.Snapshot::openings);
+
+        // Bulkheads
+        writeInstanceMetric(builder, instances, "mongo_bulkhead_active_operations", "gauge", "Operations currently running in the bulkhead.", instance -> instance.getBulkhead().snapshot(), MongoBulkhead.Snapshot::active);
+        writeInstanceMetric(builder, instances, "mongo_bulkhead_queued_operations", "gauge", "Operations currently waiting in the queue of the bulkhead.", instance -> instance.getBulkhead().snapshot(), MongoBulkhead.Snapshot::queued);
+        writeInstanceMetric(builder, instances, "mongo_bulkhead_rejected_operations_total", "counter", "Operations rejected because the bulkhead had no room left.", instance -> instance.getBulkhead().snapshot(), MongoBulkhead.Snapshot::rejected);
+
+        return builder.toString();
+    }
+
+    private static void writePoolMetric(@NonNull StringBuilder builder, @NonNull Collection<MongoInstance> instances, @NonNull String name,
+                                        @NonNull String type, @NonNull String help, @NonNull ToLongFunction<ConnectionPoolMetrics.Snapshot> value) {
+        // The blocking and reactive client each have their own pool
+        writeHeader(builder, name, type, help);
+        writeSamples(builder, instances, name, ",client=\"blocking\"", instance -> instance.getPoolMetrics().snapshot(), value);
+        writeSamples(builder, instances, name, ",client=\"reactive\"", instance -> instance.getReactivePoolMetrics().snapshot(), value);
+    }
+
+    private static <S> void writeInstanceMetric(@NonNull StringBuilder builder, @NonNull Collection<MongoInstance> instances, @NonNull String name, @NonNull String type,
+                                                @NonNull String help, @NonNull Function<MongoInstance, S> snapshot, @NonNull ToLongFunction<S> value) {
+        writeHeader(builder, name, type, help);
+        writeSamples(builder, instances, name, "", snapshot, value);
+    }
+
+    private static void writeHeader(@NonNull StringBuilder builder, @NonNull String name, @NonNull String type, @NonNull String help) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static <S> void writeSamples(@NonNull StringBuilder builder, @NonNull Collection<MongoInstance> instances, @NonNull String name,
+                                         @NonNull String labels, @NonNull Function<MongoInstance, S> snapshot, @NonNull ToLongFunction<S> value) {
+        for (MongoInstance instance : instances) {
+            builder.append(name).append("{instance=\"").append(escape(instance.getInstanceType().name())).append('"').append(labels).append("} ")
+                    .append(value.applyAsLong(snapshot.apply(instance))).append('\n');
+        }
+    }
+
+    private static @NonNull String escape(@NonNull String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,478 @@
+package net.hexilion.library.backend.database.mongo.registry;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import net.hexilion.library.backend.database.mongo.DocumentDigest;
+import net.hexilion.library.backend.database.mongo.DocumentUpdates;
+import net.hexilion.library.backend.database.mongo.JsonDocumentActionOutcome;
+import net.hexilion.library.backend.database.mongo.MongoInstance;
+import net.hexilion.library.backend.database.mongo.cache.CachedDocument;
+import net.hexilion.library.backend.database.mongo.enums.JsonDocumentActionResult;
+import net.hexilion.library.backend.exception.ServerRegistryNotLoadedException;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * In-memory registry of the documents of a small collection of servers, e.g. instances or proxies.
+ * <p>
+ * The registry is the authoritative state of the collection while the application runs. It is loaded
+ * from the database once at startup, in the background and retried until it succeeds, after which every
+ * read is served from memory: documents are indexed by their string '_id' value and by their port, the
+ * port index being a plain array so a lookup by port neither hashes nor allocates. Until it is loaded,
+ * the registry rejects reads and changes. Changes are applied in memory first and written to the database
+ * in the background, right away by default. With a write delay, writing behind is opted into: changes are
+ * merged per document and written in bulk once the delay passed or enough documents have changes waiting,
+ * multiple changes of the same document are written as one. Writes that fail are retried.
+ * <p>
+ * Since the database is only read at startup, the collection must not be written to by anything else
+ * than this registry, e.g. by other instances of the application.
+ */
+public class ServerRegistry {
+
+    private static final @NonNull String DOCUMENT_IDENTIFIER = "_id";
+    private static final @NonNull String PORT_FIELD = "port";
+    private static final int PORT_RANGE = 65536;
+    private static final @NonNull DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30000;
+
+    private final @NonNull MongoInstance instance;
+    private final @NonNull String database;
+    private final @NonNull String collection;
+    private final @NonNull Logger log;
+    private final long writeDelayMillis;
+    private final int writeBatchSize;
+    private final long retryDelayMillis;
+
+    private final @NonNull CompletableFuture<Void> loaded;
+    private final @NonNull ConcurrentSkipListMap<String, CachedDocument> documents;
+    private final @NonNull AtomicReferenceArray<CachedDocument> ports;
+    private final @NonNull Set<String> unwritten;
+    private final @NonNull AtomicBoolean writeScheduled;
+    private final @NonNull AtomicBoolean writeSubmitted;
+    private final @NonNull ScheduledThreadPoolExecutor writer;
+    private final @NonNull ReentrantLock lock;
+
+    public ServerRegistry(@NonNull MongoInstance instance, @NonNull String database, @NonNull String collection, @NonNull Logger log, long writeDelayMillis, int writeBatchSize, long retryDelayMillis) {
+        this.instance = instance;
+        this.database = database;
+        this.collection = collection;
+        this.log = log;
+        this.writeDelayMillis = writeDelayMillis;
+        this.writeBatchSize = writeBatchSize;
+        this.retryDelayMillis = retryDelayMillis;
+
+        this.loaded = new CompletableFuture<>();
+
+        this.documents = new ConcurrentSkipListMap<>();
+        this.ports = new AtomicReferenceArray<>(PORT_RANGE);
+        this.unwritten = ConcurrentHashMap.newKeySet();
+        this.writeScheduled = new AtomicBoolean();
+        this.writeSubmitted = new AtomicBoolean();
+        this.writer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "server-registry-" + database + "." + collection);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Delayed writes and retries are dropped on shutdown, their changes are written by the final write instead
+        this.writer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.lock = new ReentrantLock();
+
+        // The collection is required, even if it does not exist yet
+        this.instance.getCollectionRegistry().declare(database, collection);
+    }
+
+    /**
+     * Load the documents of the collection in the background, retrying until the collection could be read.
+     */
+    public void start() {
+        this.writer.execute(this::loadOrRetry);
+    }
+
+    /**
+     * @return Future completed once the documents of the collection are loaded.
+     */
+    public @NonNull CompletableFuture<Void> getLoaded() {
+        return this.loaded;
+    }
+
+    private void loadOrRetry() {
+        try {
+            this.load();
+        } catch (MongoException exception) {
+            this.log.warning("Could not load " + this.database + "." + this.collection + " into the server registry, retrying later: " + exception.getMessage());
+            if (!this.writer.isShutdown()) {
+                this.writer.schedule(this::loadOrRetry, this.retryDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void load() {
+        MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(this.database, this.collection);
+        if (foundCollection == null) {
+            throw new MongoException("The collection " + this.database + "." + this.collection + " is not available.");
+        }
+
+        int skipped = 0;
+        this.lock.lock();
+        try {
+            this.documents.clear();
+            for (int port = 0; port < PORT_RANGE; port++) {
+                this.ports.set(port, null);
+            }
+
+            try (MongoCursor<RawBsonDocument> cursor = foundCollection.withDocumentClass(RawBsonDocument.class).find().cursor()) {
+                while (cursor.hasNext()) {
+                    // Servers are registered by string identifiers, other identifiers cannot be looked up
+                    RawBsonDocument document = cursor.next();
+                    if (!document.get(DOCUMENT_IDENTIFIER).isString()) {
+                        skipped++;
+                        continue;
+                    }
+
+                    this.put(document);
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (skipped > 0) {
+            this.log.warning("Skipped " + skipped + " documents of " + this.database + "." + this.collection + " without a string identifier.");
+        }
+
+        this.log.info("Loaded " + this.documents.size() + " documents of " + this.database + "." + this.collection + " into the server registry.");
+        this.loaded.complete(null);
+    }
+
+    /**
+     * @param identifier The '_id' value of the document.
+     * @return The registered document, or null if no document with the identifier exists.
+     */
+    public @Nullable CachedDocument get(@NonNull String identifier) {
+        this.ensureLoaded();
+        return this.documents.get(identifier);
+    }
+
+    /**
+     * @param port The port of the server.
+     * @return The registered document of the server on the port, or null if no server uses the port.
+     */
+    public @Nullable CachedDocument getByPort(int port) {
+        this.ensureLoaded();
+        if (port < 0 || port >= PORT_RANGE) {
+            return null;
+        }
+
+        return this.ports.get(port);
+    }
+
+    /**
+     * Get a page of documents ordered by their '_id' value.
+     *
+     * @param after The '_id' value of the last document in the previous page, or null to get the first page.
+     * @param limit The maximum amount of documents to include in the page, or 0 to include all documents.
+     * @return List of the registered documents in the page.
+     * @throws IllegalArgumentException If the '_id' value is not a string, no registered document has such an identifier.
+     */
+    public @NonNull List<CachedDocument> page(@Nullable BsonValue after, int limit) {
+        this.ensureLoaded();
+        if (after != null && !after.isString()) {
+            throw new IllegalArgumentException("The registry of " + this.database + "." + this.collection + " only holds string identifiers.");
+        }
+
+        NavigableMap<String, CachedDocument> view = after == null ? this.documents : this.documents.tailMap(after.asString().getValue(), false);
+        int pageLimit = limit == 0 ? Integer.MAX_VALUE : limit;
+        List<CachedDocument> page = new ArrayList<>(Math.min(pageLimit, this.documents.size()));
+        for (CachedDocument document : view.values()) {
+            if (page.size() >= pageLimit) {
+                break;
+            }
+
+            page.add(document);
+        }
+
+        return page;
+    }
+
+    /**
+     * @return View of all registered documents, ordered by their '_id' value.
+     */
+    public @NonNull Collection<CachedDocument> getAll() {
+        this.ensureLoaded();
+        return this.documents.values();
+    }
+
+    /**
+     * Register a new document.
+     *
+     * @param document The document to create, including its '_id' value.
+     * @return Enum result of the creation.
+     */
+    public @NonNull JsonDocumentActionResult create(@NonNull Document document) {
+        this.ensureLoaded();
+        final String identifier = document.getString(DOCUMENT_IDENTIFIER);
+
+        this.lock.lock();
+        try {
+            if (this.documents.containsKey(identifier)) {
+                return JsonDocumentActionResult.ALREADY_EXISTS;
+            }
+
+            this.put(new RawBsonDocument(document, DOCUMENT_CODEC));
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.scheduleWrite(identifier);
+        return JsonDocumentActionResult.SUCCESS;
+    }
+
+    /**
+     * Update the fields of a registered document.
+     *
+     * @param identifier The '_id' value of the document to update.
+     * @param updateContent Map containing the validated dot paths and their values to update. Fields with a null value are removed.
+     * @return Outcome of the update, carrying the document after the update.
+     */
+    public @NonNull JsonDocumentActionOutcome update(@NonNull String identifier, @NonNull Map<String, Object> updateContent) {
+        this.ensureLoaded();
+        this.lock.lock();
+        try {
+            CachedDocument current = this.documents.get(identifier);
+            if (current == null) {
+                return JsonDocumentActionOutcome.of(JsonDocumentActionResult.NO_EXIST);
+            }
+
+            Document document = current.document().decode(DOCUMENT_CODEC);
+            DocumentUpdates.applySet(document, updateContent);
+            this.put(new RawBsonDocument(document, DOCUMENT_CODEC));
+
+            this.scheduleWrite(identifier);
+            return JsonDocumentActionOutcome.success(document);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Update the fields of the registered document of the server on a port.
+     *
+     * @param port The port of the server.
+     * @param updateContent Map containing the validated dot paths and their values to update. Fields with a null value are removed.
+     * @return Outcome of the update, carrying the document after the update.
+     */
+    public @NonNull JsonDocumentActionOutcome updateByPort(int port, @NonNull Map<String, Object> updateContent) {
+        this.lock.lock();
+        try {
+            CachedDocument current = this.getByPort(port);
+            if (current == null) {
+                return JsonDocumentActionOutcome.of(JsonDocumentActionResult.NO_EXIST);
+            }
+
+            return this.update(identifierOf(current.document()), updateContent);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a registered document.
+     *
+     * @param identifier The '_id' value of the document to remove.
+     * @return Outcome of the deletion, carrying the document that was removed.
+     */
+    public @NonNull JsonDocumentActionOutcome delete(@NonNull String identifier) {
+        this.ensureLoaded();
+        CachedDocument removed;
+
+        this.lock.lock();
+        try {
+            removed = this.documents.remove(identifier);
+            if (removed == null) {
+                return JsonDocumentActionOutcome.of(JsonDocumentActionResult.NO_EXIST);
+            }
+
+            this.unindexPort(removed);
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.scheduleWrite(identifier);
+        return JsonDocumentActionOutcome.success(removed.document().decode(DOCUMENT_CODEC));
+    }
+
+    /**
+     * @return Name/identifier of the database the collection is in.
+     */
+    public @NonNull String getDatabase() {
+        return this.database;
+    }
+
+    /**
+     * @return Name/identifier of the collection the registry holds the documents of.
+     */
+    public @NonNull String getCollection() {
+        return this.collection;
+    }
+
+    /**
+     * Stop writing in the background and write all unwritten changes one final time.
+     * Must be called before the Mongo instance is shut down.
+     */
+    public void shutdown() {
+        // Let a running write finish, delayed writes and retries are written below instead
+        this.writer.shutdown();
+        try {
+            if (!this.writer.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                // Writing now could race the running write and leave an older state behind
+                this.log.severe("A write to " + this.database + "." + this.collection + " did not finish in time, " + this.unwritten.size() + " changes are not written!");
+                return;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        this.write();
+
+        if (!this.unwritten.isEmpty()) {
+            this.log.severe(this.unwritten.size() + " changes of " + this.database + "." + this.collection + " could not be written before shutting down!");
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!this.loaded.isDone()) {
+            throw new ServerRegistryNotLoadedException(this.database, this.collection);
+        }
+    }
+
+    private void put(@NonNull RawBsonDocument document) {
+        CachedDocument registered = new CachedDocument(document, DocumentDigest.of(document));
+        CachedDocument previous = this.documents.put(identifierOf(document), registered);
+        if (previous != null) {
+            this.unindexPort(previous);
+        }
+
+        int port = portOf(document);
+        if (port >= 0) {
+            this.ports.set(port, registered);
+        }
+    }
+
+    private void unindexPort(@NonNull CachedDocument document) {
+        int port = portOf(document.document());
+        if (port < 0 || this.ports.get(port) != document) {
+            return;
+        }
+
+        // Another server might use the same port, it takes over the port
+        CachedDocument replacement = null;
+        for (CachedDocument other : this.documents.values()) {
+            if (other != document && portOf(other.document()) == port) {
+                replacement = other;
+                break;
+            }
+        }
+
+        this.ports.set(port, replacement);
+    }
+
+    private void scheduleWrite(@NonNull String identifier) {
+        this.unwritten.add(identifier);
+        if (this.writer.isShutdown()) {
+            return;
+        }
+
+        // Write right away without a delay or once enough documents have changes waiting, otherwise after the delay
+        if (this.writeDelayMillis <= 0 || this.unwritten.size() >= this.writeBatchSize) {
+            if (this.writeSubmitted.compareAndSet(false, true)) {
+                this.writer.execute(this::write);
+            }
+        } else if (this.writeScheduled.compareAndSet(false, true)) {
+            this.writer.schedule(this::write, this.writeDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void write() {
+        this.writeSubmitted.set(false);
+        this.writeScheduled.set(false);
+
+        // The current state of a document is written, so changes made in the meantime are written together
+        List<String> identifiers = new ArrayList<>(this.unwritten);
+        List<WriteModel<RawBsonDocument>> models = new ArrayList<>(identifiers.size());
+        for (String identifier : identifiers) {
+            this.unwritten.remove(identifier);
+
+            CachedDocument current = this.documents.get(identifier);
+            if (current == null) {
+                models.add(new DeleteOneModel<>(Filters.eq(DOCUMENT_IDENTIFIER, identifier)));
+            } else {
+                models.add(new ReplaceOneModel<>(Filters.eq(DOCUMENT_IDENTIFIER, identifier), current.document(), new ReplaceOptions().upsert(true)));
+            }
+        }
+
+        if (models.isEmpty()) {
+            return;
+        }
+
+        MongoCollection<Document> foundCollection = this.instance.getCollectionByIdentifier(this.database, this.collection);
+        try {
+            if (foundCollection == null) {
+                throw new MongoException("The collection " + this.database + "." + this.collection + " is not available.");
+            }
+
+            foundCollection.withDocumentClass(RawBsonDocument.class).bulkWrite(models, new BulkWriteOptions().ordered(false));
+        } catch (MongoException exception) {
+            // Retry the documents later, unless they are being shut down
+            this.log.warning("Could not write " + models.size() + " changes to " + this.database + "." + this.collection + ", retrying later: " + exception.getMessage());
+            this.unwritten.addAll(identifiers);
+
+            if (!this.writer.isShutdown() && this.writeScheduled.compareAndSet(false, true)) {
+                this.writer.schedule(this::write, this.retryDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private static @NonNull String identifierOf(@NonNull RawBsonDocument document) {
+        // Only documents with a string identifier are registered
+        return document.getString(DOCUMENT_IDENTIFIER).getValue();
+    }
+
+    private static int portOf(@NonNull RawBsonDocument document) {
+        BsonValue port = document.get(PORT_FIELD);
+        if (port == null || !port.isNumber()) {
+            return -1;
+        }
+
+        int value = port.asNumber().intValue();
+        return value < PORT_RANGE ? value : -1;
+    }
+}
\ No newline at end of file
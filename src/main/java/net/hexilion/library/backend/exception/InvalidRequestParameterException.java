@@ -0,0 +1,15 @@
+package net.hexilion.library.backend.exception;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Exception for when a request parameter, e.g. a page cursor or a field projection,
+ * could not be parsed. The request is answered with 400 and the message of the exception.
+ */
+public class InvalidRequestParameterException extends RuntimeException {
+
+    public InvalidRequestParameterException(@NonNull String message) {
+        super(message);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package net.hexilion.library.backend.exception;
+
+import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Exception for when an operation is rejected, because the bulkhead of the Mongo
+ * instance it targets has no room left for it.
+ */
+public class MongoBulkheadFullException extends RuntimeException {
+
+    private final @NonNull MongoInstanceType type;
+
+    public MongoBulkheadFullException(@NonNull MongoInstanceType type) {
+        super("The " + type.name() + " Mongo instance is saturated, try again later.");
+        this.type = type;
+    }
+
+    /**
+     * @return The type of the Mongo instance that is saturated.
+     */
+    public @NonNull MongoInstanceType getType() {
+        return this.type;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package net.hexilion.library.backend.exception;
+
+import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Exception for when an operation is rejected right away, because the circuit breaker
+ * of the Mongo instance it targets is open.
+ */
+public class MongoCircuitOpenException extends RuntimeException {
+
+    private final @NonNull MongoInstanceType type;
+    private final long retryAfterMillis;
+
+    public MongoCircuitOpenException(@NonNull MongoInstanceType type, long retryAfterMillis) {
+        super("The " + type.name() + " Mongo instance is unavailable, its circuit breaker is open.");
+        this.type = type;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return The type of the Mongo instance that is unavailable.
+     */
+    public @NonNull MongoInstanceType getType() {
+        return this.type;
+    }
+
+    /**
+     * @return The time until the breaker lets probe operations through again, in milliseconds.
+     */
+    public long getRetryAfterMillis() {
+        return this.retryAfterMillis;
+    }
+
+}
\ No newline at end of file
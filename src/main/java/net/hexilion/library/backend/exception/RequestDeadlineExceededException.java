@@ -0,0 +1,13 @@
+package net.hexilion.library.backend.exception;
+
+/**
+ * Exception for when a request is cancelled, because its deadline passed before a
+ * database operation could be started.
+ */
+public class RequestDeadlineExceededException extends RuntimeException {
+
+    public RequestDeadlineExceededException() {
+        super("The request did not complete within its deadline.");
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package net.hexilion.library.backend.exception;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Exception for when a server registry is used before it could load the documents
+ * of its collection, e.g. because the Mongo instance is not reachable yet.
+ */
+public class ServerRegistryNotLoadedException extends RuntimeException {
+
+    public ServerRegistryNotLoadedException(@NonNull String database, @NonNull String collection) {
+        super("The registry of " + database + "." + collection + " is still loading, try again later.");
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package net.hexilion.library.backend.execution;
+
+import net.hexilion.library.backend.database.mongo.MongoDataManager;
+import net.hexilion.library.backend.database.mongo.MongoInstance;
+import net.hexilion.library.backend.database.mongo.bulkhead.MongoBulkhead;
+import net.hexilion.library.backend.database.mongo.enums.MongoInstanceType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Configuration for the execution mode of request handling.
+ * <p>
+ * By default, requests are handled on Tomcat's fixed pool of platform threads. When virtual threads
+ * are enabled, every request is handled on its own virtual thread instead, so requests blocked on a
+ * slow Mongo instance no longer hold on to worker threads needed by requests for healthy instances.
+ * This only applies to the embedded Tomcat, a standalone Tomcat has to configure its own executor.
+ */
+@Configuration
+public class VirtualThreadConfiguration {
+
+    @Autowired
+    private MongoDataManager mongoDataManager;
+
+    @Autowired
+    private Logger logger;
+
+    @Value("${execution.virtual-threads.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int maxWorkerThreads;
+
+    @Value("${server.tomcat.max-connections:8192}")
+    private int maxConnections;
+
+    @Bean
+    @ConditionalOnProperty(value = "execution.virtual-threads.enabled", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            this.logger.info("Handling requests on virtual threads.");
+            protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        };
+    }
+
+    /**
+     * Check that the connection pool of every Mongo instance can serve all operations its bulkhead lets run concurrently.
+     * The bulkhead is the effective limit on an instance, unless fewer requests can be handled concurrently at all:
+     * with platform threads this is the size of the worker pool, with virtual threads it is the connection limit of Tomcat.
+     * Operations beyond the pool size wait for a connection to be returned to the pool.
+     * <p>
+     * With platform threads, also check that the running and queued operations of one instance cannot take all worker threads.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkConnectionPoolSizes() {
+        final int concurrentRequests = this.virtualThreadsEnabled ? this.maxConnections : this.maxWorkerThreads;
+
+        for (MongoInstanceType type : MongoInstanceType.VALUES) {
+            MongoInstance instance = this.mongoDataManager.getInstanceByType(type);
+            if (instance == null) {
+                continue;
+            }
+
+            final String path = "mongo." + type.name().toLowerCase();
+            MongoBulkhead.Snapshot bulkhead = instance.getBulkhead().snapshot();
+            int concurrentOperations = Math.min(bulkhead.maxConcurrent(), concurrentRequests);
+            if (instance.getConnectionPoolMaxSize() < concurrentOperations) {
+                this.logger.warning(String.format("The connection pool of Mongo instance %s holds %d connections but up to %d operations (%s.bulkhead.max-concurrent) can run concurrently, "
+                                + "operations beyond the pool size will wait for a connection. Set %s.pool.max-size to match.",
+                        instance.getIdentifier(), instance.getConnectionPoolMaxSize(), concurrentOperations, path, path));
+            }
+
+            // The non-blocking operations share the bulkhead but use the separate pool of the reactive client
+            if (instance.getReactiveConnectionPoolMaxSize() < bulkhead.maxConcurrent()) {
+                this.logger.warning(String.format("The reactive connection pool of Mongo instance %s holds %d connections but up to %d operations (%s.bulkhead.max-concurrent) can run concurrently, "
+                                + "non-blocking operations beyond the pool size will wait for a connection. Set %s.pool.reactive-max-size to match.",
+                        instance.getIdentifier(), instance.getReactiveConnectionPoolMaxSize(), bulkhead.maxConcurrent(), path, path));
+            }
+
+            if (!this.virtualThreadsEnabled && bulkhead.maxConcurrent() + bulkhead.maxQueued() >= this.maxWorkerThreads) {
+                this.logger.warning(String.format("The bulkhead of Mongo instance %s lets %d operations run or queue but only %d worker threads (server.tomcat.threads.max) are available, "
+                                + "a slow instance can take all of them. Lower %s.bulkhead.max-concurrent and %s.bulkhead.max-queued.",
+                        instance.getIdentifier(), bulkhead.maxConcurrent() + bulkhead.maxQueued(), this.maxWorkerThreads, path, path));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package net.hexilion.library.backend.health;
+
+import net.hexilion.library.backend.database.mongo.MongoDataManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+/**
+ * Holds back the readiness of the service until the Mongo instances are warmed up and the server registries are loaded.
+ * <p>
+ * Spring reports the service as ready to accept traffic as soon as the application has started. The readiness
+ * reported to probes combines that state with the warm-up, so the first requests routed to the service neither
+ * wait for the connection handshakes nor are rejected by a registry that is not loaded yet. The readiness state
+ * of Spring itself is left alone, so there is no second state change competing with the one Spring publishes.
+ */
+@Component
+public class MongoWarmUpReadiness {
+
+    private final @NonNull MongoDataManager mongoDataManager;
+    private final @NonNull ApplicationAvailability availability;
+    private final @NonNull Logger log;
+
+    @Autowired
+    public MongoWarmUpReadiness(@NonNull MongoDataManager mongoDataManager, @NonNull ApplicationAvailability availability, @NonNull Logger log) {
+        this.mongoDataManager = mongoDataManager;
+        this.availability = availability;
+        this.log = log;
+    }
+
+    /**
+     * @return The readiness of the service, refusing traffic while the Mongo instances are still warming up or the server registries are still loading.
+     */
+    public @NonNull ReadinessState getReadinessState() {
+        ReadinessState state = this.availability.getReadinessState();
+        if (state == ReadinessState.ACCEPTING_TRAFFIC && !this.getWarmUp().isDone()) {
+            return ReadinessState.REFUSING_TRAFFIC;
+        }
+
+        return state;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        CompletableFuture<Void> warmUp = this.getWarmUp();
+        if (warmUp.isDone()) {
+            return;
+        }
+
+        // Only report progress, the readiness is combined with the warm-up when it is read
+        this.log.info("Waiting for the Mongo instances to warm up and the server registries to load before accepting traffic...");
+        warmUp.whenComplete((result, throwable) -> this.log.info("The Mongo instances are warmed up and the server registries are loaded, accepting traffic."));
+    }
+
+    private @NonNull CompletableFuture<Void> getWarmUp() {
+        return CompletableFuture.allOf(this.mongoDataManager.getWarmUp(), this.mongoDataManager.getServerRegistryLoads());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package net.hexilion.library.backend.request;
+
+import net.hexilion.library.backend.database.mongo.enums.BulkDocumentAction;
+import org.bson.Document;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Represents a single operation in the JSON body of a bulk request.
+ *
+ * @param action The action to perform, either "create", "update" or "delete".
+ * @param identifier The identifier of the target document.
+ * @param document JSON contents of the document for creations, or the fields to update for updates. Not used for deletions.
+ */
+public record BulkOperationRequest(@Nullable BulkDocumentAction action, @Nullable String identifier, @Nullable Document document) { }
\ No newline at end of file
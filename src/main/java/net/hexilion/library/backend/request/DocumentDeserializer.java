@@ -0,0 +1,177 @@
+package net.hexilion.library.backend.request;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.bson.Document;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deserializes JSON request bodies straight from the token stream into a {@link Document},
+ * without building an intermediate tree or string.
+ * <p>
+ * Integers are kept as int or long values depending on their size, while larger integers and floating
+ * point numbers become doubles. Objects in MongoDB extended JSON notation, such as
+ * {"$numberLong": "1"} or {"$date": ...}, are converted to their BSON values like {@link Document#parse(String)} does.
+ * The size and nesting depth of a body are limited, exceeding a limit fails the deserialization.
+ * The size is only checked every so many values, so the parser of the body has to be limited with
+ * {@link DocumentDeserializer#constraints(long, int)} as well, which stops single oversized values while they are read.
+ */
+public class DocumentDeserializer extends StdDeserializer<Document> {
+
+    private static final @NonNull String EXTENDED_JSON_PREFIX = "$";
+    private static final @NonNull String EXTENDED_JSON_WRAPPER = "value";
+    private static final int SIZE_CHECK_INTERVAL = 64;
+
+    private final long maxBytes;
+    private final int maxDepth;
+
+    public DocumentDeserializer(long maxBytes, int maxDepth) {
+        super(Document.class);
+
+        this.maxBytes = maxBytes;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Create a Jackson module that deserializes every {@link Document} with this deserializer.
+     *
+     * @param maxBytes The maximum size of a JSON document in bytes.
+     * @param maxDepth The maximum nesting depth of objects and arrays in a JSON document.
+     * @return The module to register on an object mapper.
+     */
+    public static @NonNull SimpleModule module(long maxBytes, int maxDepth) {
+        return new SimpleModule("bson-document").addDeserializer(Document.class, new DocumentDeserializer(maxBytes, maxDepth));
+    }
+
+    /**
+     * Create the constraints for the parser of request bodies, so a single string or number can never be larger
+     * than a whole document and the nesting depth is enforced before a value is built.
+     *
+     * @param maxBytes The maximum size of a JSON document in bytes.
+     * @param maxDepth The maximum nesting depth of objects and arrays in a JSON document.
+     * @return The constraints to set on the JSON factory of an object mapper.
+     */
+    public static @NonNull StreamReadConstraints constraints(long maxBytes, int maxDepth) {
+        int maxLength = (int) Math.min(maxBytes, Integer.MAX_VALUE);
+        return StreamReadConstraints.builder()
+                .maxStringLength(maxLength)
+                .maxNumberLength(Math.min(maxLength, StreamReadConstraints.DEFAULT_MAX_NUM_LEN))
+                .maxNestingDepth(maxDepth)
+                .build();
+    }
+
+    @Override
+    public Document deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return (Document) context.handleUnexpectedToken(Document.class, parser);
+        }
+
+        // Documents nested in another body, e.g. in bulk operations, are measured from where they start
+        ReadState state = new ReadState(offsetOf(parser.currentLocation()));
+        Document document = this.readDocument(parser, state, 1);
+        this.checkSize(parser, state);
+        return document;
+    }
+
+    private @NonNull Document readDocument(@NonNull JsonParser parser, @NonNull ReadState state, int depth) throws IOException {
+        this.checkDepth(parser, depth);
+
+        Document document = new Document();
+        String fieldName;
+        while ((fieldName = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            document.put(fieldName, this.readValue(parser, state, depth));
+        }
+
+        return document;
+    }
+
+    private @Nullable Object readValue(@NonNull JsonParser parser, @NonNull ReadState state, int depth) throws IOException {
+        // Checking the size allocates, so it is only checked every so many values
+        if (++state.values % SIZE_CHECK_INTERVAL == 0) {
+            this.checkSize(parser, state);
+        }
+
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> {
+                Document document = this.readDocument(parser, state, depth + 1);
+                yield isExtendedJson(document) ? parseExtendedJson(parser, document) : document;
+            }
+            case START_ARRAY -> {
+                this.checkDepth(parser, depth + 1);
+
+                List<Object> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(this.readValue(parser, state, depth + 1));
+                }
+
+                yield list;
+            }
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT -> switch (parser.getNumberType()) {
+                case INT -> parser.getIntValue();
+                case LONG -> parser.getLongValue();
+                default -> parser.getDoubleValue();
+            };
+            case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_TRUE -> true;
+            case VALUE_FALSE -> false;
+            case VALUE_NULL -> null;
+            default -> throw JsonMappingException.from(parser, "Unexpected token " + parser.currentToken() + " in the JSON document.");
+        };
+    }
+
+    private void checkDepth(@NonNull JsonParser parser, int depth) throws JsonMappingException {
+        if (depth > this.maxDepth) {
+            throw JsonMappingException.from(parser, "The JSON document is nested deeper than " + this.maxDepth + " levels.");
+        }
+    }
+
+    private void checkSize(@NonNull JsonParser parser, @NonNull ReadState state) throws JsonMappingException {
+        if (offsetOf(parser.currentLocation()) - state.start > this.maxBytes) {
+            throw JsonMappingException.from(parser, "The JSON document is larger than " + this.maxBytes + " bytes.");
+        }
+    }
+
+    private static long offsetOf(@NonNull JsonLocation location) {
+        // Parsers reading from a string only track characters
+        long byteOffset = location.getByteOffset();
+        return byteOffset >= 0 ? byteOffset : location.getCharOffset();
+    }
+
+    private static boolean isExtendedJson(@NonNull Document document) {
+        return document.size() <= 2 && !document.isEmpty() && document.keySet().iterator().next().startsWith(EXTENDED_JSON_PREFIX);
+    }
+
+    private static @Nullable Object parseExtendedJson(@NonNull JsonParser parser, @NonNull Document document) throws JsonMappingException {
+        try {
+            return Document.parse(new Document(EXTENDED_JSON_WRAPPER, document).toJson()).get(EXTENDED_JSON_WRAPPER);
+        } catch (RuntimeException exception) {
+            throw JsonMappingException.from(parser, "Invalid extended JSON value " + document.toJson() + ".", exception);
+        }
+    }
+
+    /**
+     * State of reading a single JSON document.
+     */
+    private static final class ReadState {
+
+        private final long start;
+        private int values;
+
+        private ReadState(long start) {
+            this.start = start;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package net.hexilion.library.backend.request;
+
+import com.fasterxml.jackson.databind.Module;
+import net.hexilion.library.backend.ApplicationConfiguration;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for reading request bodies.
+ * Registers the streaming {@link DocumentDeserializer} on the object mapper used for request bodies,
+ * and limits the parser of that mapper so oversized values are rejected while they are read.
+ */
+@Configuration
+public class RequestBodyConfiguration {
+
+    @Bean
+    public Module documentModule(ApplicationConfiguration configuration) {
+        return DocumentDeserializer.module(configuration.getMaxBodyBytes(), configuration.getMaxBodyDepth());
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer documentReadConstraints(ApplicationConfiguration configuration) {
+        return builder -> builder.postConfigurer(mapper -> mapper.getFactory()
+                .setStreamReadConstraints(DocumentDeserializer.constraints(configuration.getMaxBodyBytes(), configuration.getMaxBodyDepth())));
+    }
+}
\ No newline at end of file
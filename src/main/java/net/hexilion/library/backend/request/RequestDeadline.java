@@ -0,0 +1,65 @@
+package net.hexilion.library.backend.request;
+
+import net.hexilion.library.backend.exception.RequestDeadlineExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the deadline of the request handled by the current thread.
+ * <p>
+ * The deadline is set when the request arrives, and every Mongo operation of the request is sent with the
+ * remaining time budget as its server-side time limit. Operations are not started at all once the deadline
+ * has passed, so the database does not keep working on requests the client has already given up on.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Start the deadline of the request handled by the current thread.
+     *
+     * @param budgetMillis The time the request may take, in milliseconds.
+     */
+    public static void start(long budgetMillis) {
+        DEADLINE.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+    }
+
+    /**
+     * Remove the deadline of the current thread, e.g. once the request is handled.
+     */
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Make sure the deadline of the request has not passed yet, for operations that have no server-side time limit.
+     *
+     * @throws RequestDeadlineExceededException If the deadline has passed.
+     */
+    public static void ensureNotExpired() {
+        getMaxTimeMillis();
+    }
+
+    /**
+     * Get the remaining time budget of the request, to pass as the server-side time limit of a Mongo operation.
+     *
+     * @return The remaining time in milliseconds, at least 1. Or 0 if the current thread has no deadline, which means no limit to Mongo.
+     * @throws RequestDeadlineExceededException If the deadline has passed.
+     */
+    public static long getMaxTimeMillis() {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return 0;
+        }
+
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw new RequestDeadlineExceededException();
+        }
+
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+    }
+}
\ No newline at end of file
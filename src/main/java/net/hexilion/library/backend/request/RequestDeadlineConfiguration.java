@@ -0,0 +1,28 @@
+package net.hexilion.library.backend.request;
+
+import net.hexilion.library.backend.ApplicationConfiguration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration for the deadlines of requests.
+ * Registers the {@link RequestDeadlineInterceptor} for all endpoints.
+ */
+@Configuration
+public class RequestDeadlineConfiguration implements WebMvcConfigurer {
+
+    private final @NonNull ApplicationConfiguration configuration;
+
+    @Autowired
+    public RequestDeadlineConfiguration(@NonNull ApplicationConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestDeadlineInterceptor(this.configuration));
+    }
+}
\ No newline at end of file
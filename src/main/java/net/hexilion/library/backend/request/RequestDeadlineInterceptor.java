@@ -0,0 +1,65 @@
+package net.hexilion.library.backend.request;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.ApplicationConfiguration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Starts the {@link RequestDeadline} of every request, based on the class of its endpoint.
+ * <p>
+ * Reads of single documents, writes and reads of whole collections ('/get/all') each have their own
+ * configurable deadline. A deadline of 0 or less disables the deadline for that class of endpoints.
+ */
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private static final @NonNull String GET_ALL_PATH = "/get/all";
+
+    private final @NonNull ApplicationConfiguration configuration;
+
+    public RequestDeadlineInterceptor(@NonNull ApplicationConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        // The deadline started with the original request, async dispatches only complete it
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        long budgetMillis = this.getBudgetMillis(request);
+        if (budgetMillis > 0) {
+            RequestDeadline.start(budgetMillis);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        // The thread is handed back to the container while the operation completes
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, @Nullable Exception exception) {
+        RequestDeadline.clear();
+    }
+
+    private long getBudgetMillis(@NonNull HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return this.configuration.getWriteDeadlineMillis();
+        }
+
+        if (request.getRequestURI().contains(GET_ALL_PATH)) {
+            return this.configuration.getScanDeadlineMillis();
+        }
+
+        return this.configuration.getReadDeadlineMillis();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package net.hexilion.library.backend.response;
+
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Response used for bulk requests. The data contains the result of every
+ * operation, an unsuccessful operation does not fail the request.
+ */
+public class BulkRequestJsonResponse<T> extends AbstractBaseJsonResponse<T> {
+
+    public BulkRequestJsonResponse(@NonNull T data, @NonNull HttpServletResponse response) {
+        super(data);
+
+        // Set "OK" status response
+        response.setStatus(200);
+    }
+
+}
\ No newline at end of file
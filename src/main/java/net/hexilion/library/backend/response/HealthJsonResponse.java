@@ -0,0 +1,19 @@
+package net.hexilion.library.backend.response;
+
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Response used for requests of the health of the service.
+ */
+public class HealthJsonResponse<T> extends AbstractBaseJsonResponse<T> {
+
+    public HealthJsonResponse(@NonNull T data, boolean healthy, @NonNull HttpServletResponse response) {
+        super(data);
+
+        // Set "OK" status response if healthy, otherwise "Service Unavailable"
+        response.setStatus(healthy ? 200 : 503);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package net.hexilion.library.backend.response;
+
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Response used for requests of the metrics of the service.
+ */
+public class MetricsJsonResponse<T> extends AbstractBaseJsonResponse<T> {
+
+    public MetricsJsonResponse(@NonNull T data, @NonNull HttpServletResponse response) {
+        super(data);
+
+        // Set "OK" status response
+        response.setStatus(200);
+    }
+
+}
\ No newline at end of file
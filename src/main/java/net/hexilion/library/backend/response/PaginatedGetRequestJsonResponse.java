@@ -0,0 +1,28 @@
+package net.hexilion.library.backend.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.response.base.FetchedFrom;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Response used for GET requests that return a single page of a larger result.
+ */
+public class PaginatedGetRequestJsonResponse<T> extends GetRequestJsonResponse<T> {
+
+    private final @Nullable @JsonProperty("next") String nextCursor;
+
+    public PaginatedGetRequestJsonResponse(@NonNull T data, @NonNull FetchedFrom fetchedFrom, @Nullable String nextCursor, @NonNull HttpServletResponse response) {
+        super(data, fetchedFrom, response);
+
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return The cursor to pass as 'after' to get the next page, or null if this is the last page.
+     */
+    public @Nullable String getNextCursor() {
+        return this.nextCursor;
+    }
+}
\ No newline at end of file
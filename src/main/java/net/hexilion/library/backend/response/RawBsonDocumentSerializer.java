@@ -0,0 +1,100 @@
+package net.hexilion.library.backend.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Serializes a {@link RawBsonDocument} by reading its BSON bytes and writing every value straight
+ * to the JSON generator, so the document is never decoded into maps and lists first.
+ * <p>
+ * Strings, integers, doubles, booleans, dates and null are written directly. Other BSON types, e.g. object identifiers,
+ * decimals or binary data, are decoded into the same values a {@link org.bson.Document} holds and written by Jackson,
+ * so their JSON form is the same as when responses held decoded documents. Undefined values are written as null.
+ */
+public class RawBsonDocumentSerializer extends StdSerializer<RawBsonDocument> {
+
+    private static final @NonNull CodecRegistry CODEC_REGISTRY = MongoClientSettings.getDefaultCodecRegistry();
+    private static final @NonNull BsonTypeClassMap BSON_TYPE_CLASS_MAP = new BsonTypeClassMap();
+    private static final @NonNull DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    public RawBsonDocumentSerializer() {
+        super(RawBsonDocument.class);
+    }
+
+    /**
+     * Create a Jackson module that serializes every {@link RawBsonDocument} with this serializer.
+     *
+     * @return The module to register on an object mapper.
+     */
+    public static @NonNull SimpleModule module() {
+        return new SimpleModule("raw-bson-document").addSerializer(RawBsonDocument.class, new RawBsonDocumentSerializer());
+    }
+
+    @Override
+    public void serialize(RawBsonDocument document, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+            writeDocument(reader, generator, provider);
+        }
+    }
+
+    private static void writeDocument(@NonNull BsonBinaryReader reader, @NonNull JsonGenerator generator, @NonNull SerializerProvider provider) throws IOException {
+        reader.readStartDocument();
+        generator.writeStartObject();
+
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            generator.writeFieldName(reader.readName());
+            writeValue(reader, generator, provider);
+        }
+
+        reader.readEndDocument();
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(@NonNull BsonBinaryReader reader, @NonNull JsonGenerator generator, @NonNull SerializerProvider provider) throws IOException {
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT -> writeDocument(reader, generator, provider);
+            case ARRAY -> {
+                reader.readStartArray();
+                generator.writeStartArray();
+
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    writeValue(reader, generator, provider);
+                }
+
+                reader.readEndArray();
+                generator.writeEndArray();
+            }
+            case STRING -> generator.writeString(reader.readString());
+            case INT32 -> generator.writeNumber(reader.readInt32());
+            case INT64 -> generator.writeNumber(reader.readInt64());
+            case DOUBLE -> generator.writeNumber(reader.readDouble());
+            case BOOLEAN -> generator.writeBoolean(reader.readBoolean());
+            case DATE_TIME -> provider.defaultSerializeDateValue(reader.readDateTime(), generator);
+            case NULL -> {
+                reader.readNull();
+                generator.writeNull();
+            }
+            case UNDEFINED -> {
+                reader.readUndefined();
+                generator.writeNull();
+            }
+            default -> {
+                // Decode the value with the codec a Document uses for its type
+                Object value = CODEC_REGISTRY.get(BSON_TYPE_CLASS_MAP.get(reader.getCurrentBsonType())).decode(reader, DECODER_CONTEXT);
+                provider.defaultSerializeValue(value, generator);
+            }
+        }
+    }
+}
\ No newline at end of file
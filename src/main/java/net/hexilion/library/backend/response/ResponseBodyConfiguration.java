@@ -0,0 +1,18 @@
+package net.hexilion.library.backend.response;
+
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for writing response bodies.
+ * Registers the streaming {@link RawBsonDocumentSerializer} on the object mapper used for response bodies.
+ */
+@Configuration
+public class ResponseBodyConfiguration {
+
+    @Bean
+    public Module rawDocumentModule() {
+        return RawBsonDocumentSerializer.module();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package net.hexilion.library.backend.response.base;
+
+import net.hexilion.library.backend.database.mongo.enums.BulkDocumentAction;
+import net.hexilion.library.backend.database.mongo.enums.JsonDocumentActionResult;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Represents the result of a single operation in a bulk request.
+ * This is used in JSON responses.
+ */
+public record BulkOperationResult(@NonNull String identifier, @NonNull BulkDocumentAction action, @NonNull JsonDocumentActionResult result) { }
\ No newline at end of file
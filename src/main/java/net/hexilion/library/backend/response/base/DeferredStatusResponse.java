@@ -0,0 +1,55 @@
+package net.hexilion.library.backend.response.base;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Response that records the status and headers set by a JSON response object instead of setting them on the HTTP response.
+ * <p>
+ * Asynchronous operations complete on the threads of the Mongo driver, which must not touch the HTTP response.
+ * The recorded status and headers are returned as a {@link ResponseEntity}, which is applied to the HTTP response
+ * once the request is dispatched back to a container thread.
+ */
+public class DeferredStatusResponse extends HttpServletResponseWrapper {
+
+    private final @NonNull HttpHeaders headers;
+    private int status;
+
+    public DeferredStatusResponse(@NonNull HttpServletResponse response) {
+        super(response);
+
+        this.headers = new HttpHeaders();
+        this.status = 200;
+    }
+
+    @Override
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public int getStatus() {
+        return this.status;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        this.headers.set(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        this.headers.add(name, value);
+    }
+
+    /**
+     * @param body The JSON response object that set the status and headers.
+     * @return Response entity with the recorded status and headers.
+     */
+    public <T> @NonNull ResponseEntity<T> toResponseEntity(@NonNull T body) {
+        return ResponseEntity.status(this.status).headers(this.headers).body(body);
+    }
+}
\ No newline at end of file
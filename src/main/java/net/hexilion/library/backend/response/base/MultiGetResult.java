@@ -0,0 +1,15 @@
+package net.hexilion.library.backend.response.base;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the result of looking up multiple documents by their identifiers at once.
+ * This is used in JSON responses.
+ *
+ * @param found Map of each identifier that was found to its document.
+ * @param missing List of the identifiers that were not found.
+ */
+public record MultiGetResult<T>(@NonNull Map<String, T> found, @NonNull List<String> missing) { }
\ No newline at end of file
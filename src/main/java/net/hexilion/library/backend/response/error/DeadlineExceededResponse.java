@@ -0,0 +1,20 @@
+package net.hexilion.library.backend.response.error;
+
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Response for when a request was cancelled, because the database could not complete
+ * it within the deadline of the request.
+ */
+public class DeadlineExceededResponse<T> extends AbstractBaseJsonResponse<T> {
+
+    public DeadlineExceededResponse(@NonNull HttpServletResponse response) {
+        super("The request did not complete within its deadline and was cancelled.");
+
+        // Set "Gateway Timeout" status
+        response.setStatus(504);
+    }
+
+}
\ No newline at end of file
@@ -16,4 +16,11 @@ public class InvalidAPIKeyResponse<T> extends AbstractBaseJsonResponse<T> {
         response.setStatus(401);
     }
 
+    /**
+     * Create the response without setting the status, e.g. to serialize the body once up front.
+     */
+    public InvalidAPIKeyResponse() {
+        super("Invalid API key.");
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package net.hexilion.library.backend.response.error;
+
+import jakarta.servlet.http.HttpServletResponse;
+import net.hexilion.library.backend.response.base.AbstractBaseJsonResponse;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Response for indicating that the request cannot be handled right now, e.g. because a
+ * database it needs is unavailable. The client is told when to retry.
+ */
+public class ServiceUnavailableResponse<T> extends AbstractBaseJsonResponse<T> {
+
+    public ServiceUnavailableResponse(@NonNull String errorCause, long retryAfterSeconds, @NonNull HttpServletResponse response) {
+        super(errorCause);
+
+        // Set "Service Unavailable" status
+        response.setStatus(503);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+    }
+
+}
\ No newline at end of file